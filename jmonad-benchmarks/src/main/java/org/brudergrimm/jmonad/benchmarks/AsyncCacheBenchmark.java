@@ -0,0 +1,39 @@
+package org.brudergrimm.jmonad.benchmarks;
+
+import org.brudergrimm.jmonad.future.AsyncCache;
+import org.brudergrimm.jmonad.future.Future;
+import org.brudergrimm.jmonad.future.Successful;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/** Lookups from four threads into a cache that holds every key (hits) or only a tenth of them (mostly misses) */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class AsyncCacheBenchmark {
+    private static final int keys = 10000;
+
+    private AsyncCache<Integer, Integer> everything;
+    private AsyncCache<Integer, Integer> tenth;
+
+    @Setup public void setup() {
+        everything = AsyncCache.apply(Successful::apply, keys, Duration.ofMinutes(10));
+        tenth = AsyncCache.apply(Successful::apply, keys / 10, Duration.ofMinutes(10));
+        for (int key = 0; key < keys; key++) everything.get(key);
+    }
+
+    @Benchmark public Future<Integer> hit() {
+        return everything.get(ThreadLocalRandom.current().nextInt(keys));
+    }
+
+    @Benchmark public Future<Integer> miss() {
+        return tenth.get(ThreadLocalRandom.current().nextInt(keys));
+    }
+}
@@ -0,0 +1,56 @@
+package org.brudergrimm.jmonad.benchmarks;
+
+import org.brudergrimm.jmonad.either.Either;
+import org.brudergrimm.jmonad.either.Left;
+import org.brudergrimm.jmonad.either.Right;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EitherBenchmark {
+    private final Either<String, Integer> left = Left.apply("error");
+    private final Either<String, Integer> right = Right.apply(21);
+
+    @Benchmark public int foldLeft() {
+        return left.fold(String::length, i -> i);
+    }
+
+    @Benchmark public int foldRight() {
+        return right.fold(String::length, i -> i);
+    }
+
+    @Benchmark public Either<String, Integer> rightProjectionOfRight() {
+        return right.right().map(i -> i * 2);
+    }
+
+    @Benchmark public Either<String, Integer> rightProjectionOfLeft() {
+        return left.right().map(i -> i * 2);
+    }
+
+    @Benchmark public Either<String, Integer> leftProjectionOfLeft() {
+        return left.left().map(String::toUpperCase);
+    }
+
+    @Benchmark public Either<String, Integer> projectionChain() {
+        return right.right().map(i -> i * 2)
+                .right().map(i -> i + 1)
+                .left().map(String::toUpperCase);
+    }
+
+    @Benchmark public Either<String, Integer> mapChain() {
+        return right.map(i -> i * 2)
+                .map(i -> i + 1)
+                .mapLeft(String::toUpperCase);
+    }
+
+    @Benchmark public Either<String, Integer> mapChainOfLeft() {
+        return left.map(i -> i * 2)
+                .flatMap(i -> Right.apply(i + 1));
+    }
+}
@@ -0,0 +1,38 @@
+package org.brudergrimm.jmonad.benchmarks;
+
+import org.brudergrimm.jmonad.future.Future;
+import org.brudergrimm.jmonad.future.Successful;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/** Latency of a map chain from creating the future until the last stage is done */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FutureBenchmark {
+    private static final Duration timeout = Duration.ofSeconds(10);
+    private int input = 21;
+
+    @Benchmark public Integer mapChainAsync() {
+        return Future.apply(() -> input)
+                .map(i -> i * 2)
+                .map(i -> i + 1)
+                .flatMap(i -> Future.apply(() -> i - 1))
+                .await(timeout)
+                .get();
+    }
+
+    @Benchmark public Integer mapChainCompleted() {
+        return Successful.apply(input)
+                .map(i -> i * 2)
+                .map(i -> i + 1)
+                .flatMap(i -> Successful.apply(i - 1))
+                .await(timeout)
+                .get();
+    }
+}
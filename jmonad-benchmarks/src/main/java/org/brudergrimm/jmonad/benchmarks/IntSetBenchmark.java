@@ -0,0 +1,50 @@
+package org.brudergrimm.jmonad.benchmarks;
+
+import org.brudergrimm.jmonad.sets.IntSet;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/** Two sets of random ids drawn from a range twice their size, so the chunks end up as bitmaps */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class IntSetBenchmark {
+    @Param({"100000", "10000000"})
+    private int size;
+
+    private IntSet a;
+    private IntSet b;
+
+    @Setup public void setup() {
+        Random random = new Random(42);
+        int[] left = new int[size];
+        int[] right = new int[size];
+        for (int i = 0; i < size; i++) {
+            left[i] = random.nextInt(2 * size);
+            right[i] = random.nextInt(2 * size);
+        }
+        a = IntSet.of(left);
+        b = IntSet.of(right);
+    }
+
+    @Benchmark public IntSet union() {
+        return a.union(b);
+    }
+
+    @Benchmark public IntSet intersection() {
+        return a.intersection(b);
+    }
+
+    @Benchmark public IntSet difference() {
+        return a.difference(b);
+    }
+
+    @Benchmark public IntSet xor() {
+        return a.xor(b);
+    }
+}
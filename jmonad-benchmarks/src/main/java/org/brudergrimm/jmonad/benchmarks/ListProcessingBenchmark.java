@@ -0,0 +1,78 @@
+package org.brudergrimm.jmonad.benchmarks;
+
+import org.brudergrimm.jmonad.sets.ListProcessing;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/** Two lists of the same size that overlap by half, in random order and sorted */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ListProcessingBenchmark {
+    @Param({"100", "1000", "10000"})
+    private int size;
+
+    private List<Integer> a;
+    private List<Integer> b;
+    private List<Integer> sortedA;
+    private List<Integer> sortedB;
+
+    @Setup public void setup() {
+        a = new ArrayList<>(size);
+        b = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            a.add(i);
+            b.add(i + size / 2);
+        }
+
+        Random random = new Random(42);
+        Collections.shuffle(a, random);
+        Collections.shuffle(b, random);
+
+        sortedA = new ArrayList<>(a);
+        sortedB = new ArrayList<>(b);
+        sortedA.sort(Comparator.naturalOrder());
+        sortedB.sort(Comparator.naturalOrder());
+    }
+
+    @Benchmark public List<Integer> union() {
+        return ListProcessing.union(a, b);
+    }
+
+    @Benchmark public List<Integer> intersection() {
+        return ListProcessing.intersection(a, b);
+    }
+
+    @Benchmark public List<Integer> difference() {
+        return ListProcessing.difference(a, b);
+    }
+
+    @Benchmark public List<Integer> symmetricDifference() {
+        return ListProcessing.symmetricDifference(a, b);
+    }
+
+    @Benchmark public List<Integer> unionSorted() {
+        return ListProcessing.union(sortedA, sortedB, Comparator.naturalOrder());
+    }
+
+    @Benchmark public List<Integer> intersectionSorted() {
+        return ListProcessing.intersection(sortedA, sortedB, Comparator.naturalOrder());
+    }
+
+    @Benchmark public List<Integer> differenceSorted() {
+        return ListProcessing.difference(sortedA, sortedB, Comparator.naturalOrder());
+    }
+
+    @Benchmark public List<Integer> symmetricDifferenceSorted() {
+        return ListProcessing.symmetricDifference(sortedA, sortedB, Comparator.naturalOrder());
+    }
+}
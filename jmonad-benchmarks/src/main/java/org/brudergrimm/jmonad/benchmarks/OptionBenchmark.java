@@ -0,0 +1,47 @@
+package org.brudergrimm.jmonad.benchmarks;
+
+import org.brudergrimm.jmonad.option.Option;
+import org.brudergrimm.jmonad.option.OptionInt;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OptionBenchmark {
+    private int input = 21;
+    private String absent = null;
+
+    @Benchmark public Option<Integer> applyPresent() {
+        return Option.apply(input);
+    }
+
+    @Benchmark public Option<String> applyAbsent() {
+        return Option.apply(absent);
+    }
+
+    @Benchmark public Option<Integer> mapChain() {
+        return Option.apply(input)
+                .map(i -> i * 2)
+                .filter(i -> i > 10)
+                .map(i -> i + 1);
+    }
+
+    @Benchmark public int mapChainUnboxed() {
+        return Option.apply(input)
+                .mapToInt(i -> i * 2) // boxed once going in, never again after
+                .map(i -> i + 1)
+                .getOrElse(0);
+    }
+
+    @Benchmark public int mapChainPrimitive() {
+        return OptionInt.apply(input)
+                .map(i -> i * 2)
+                .map(i -> i + 1)
+                .getOrElse(0);
+    }
+}
@@ -0,0 +1,43 @@
+package org.brudergrimm.jmonad.benchmarks;
+
+import org.brudergrimm.jmonad.future.Future;
+import org.brudergrimm.jmonad.future.Successful;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SequenceBenchmark {
+    private static final Duration timeout = Duration.ofSeconds(30);
+
+    @Param({"10", "1000", "100000"})
+    private int size;
+
+    private List<Future<Integer>> completed;
+
+    @Setup public void setup() {
+        completed = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) completed.add(Successful.apply(i));
+    }
+
+    @Benchmark public List<Integer> sequenceCompleted() {
+        return Future.sequence(completed).await(timeout).get();
+    }
+
+    @Benchmark public List<Integer> sequenceAsync() {
+        List<Future<Integer>> futures = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int value = i;
+            futures.add(Future.apply(() -> value));
+        }
+        return Future.sequence(futures).await(timeout).get();
+    }
+}
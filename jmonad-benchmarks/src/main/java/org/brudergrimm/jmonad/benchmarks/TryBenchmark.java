@@ -0,0 +1,73 @@
+package org.brudergrimm.jmonad.benchmarks;
+
+import org.brudergrimm.jmonad.tried.Try;
+import org.brudergrimm.jmonad.tried.TryInt;
+import org.brudergrimm.jmonad.tried.TryPipeline;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TryBenchmark {
+    private int input = 21;
+    private final IllegalStateException failure = new IllegalStateException("expected");
+    private final TryPipeline<Integer, Integer> pipeline = TryPipeline.<Integer>identity()
+            .map(i -> i * 2)
+            .filter(i -> i % 2 == 0)
+            .flatMap(i -> Try.successful(i + 1))
+            .map(i -> i - 1);
+
+    @Benchmark public Try<Integer> applySuccess() {
+        return Try.apply(() -> input);
+    }
+
+    @Benchmark public Try<Integer> applyFailure() {
+        return Try.apply(() -> { throw new IllegalStateException("expected"); });
+    }
+
+    @Benchmark public Try<Integer> applyThrowingFailure() {
+        return Try.applyThrowing(() -> { throw new IOException("expected"); });
+    }
+
+    @Benchmark public Try<Integer> chainOnSuccess() {
+        return Try.apply(() -> input)
+                .map(i -> i * 2)
+                .filter(i -> i % 2 == 0)
+                .flatMap(i -> Try.successful(i + 1))
+                .map(i -> i - 1);
+    }
+
+    @Benchmark public Try<Integer> chainOnSuccessPipeline() {
+        return pipeline.apply(input);
+    }
+
+    @Benchmark public TryInt chainOnSuccessPrimitive() {
+        return TryInt.apply(() -> input)
+                .map(i -> i * 2)
+                .filter(i -> i % 2 == 0)
+                .flatMap(i -> TryInt.successful(i + 1))
+                .map(i -> i - 1);
+    }
+
+    @Benchmark public Try<Integer> chainOnFailure() {
+        return Try.<Integer>failed(failure)
+                .map(i -> i * 2)
+                .filter(i -> i % 2 == 0)
+                .flatMap(i -> Try.successful(i + 1))
+                .map(i -> i - 1);
+    }
+
+    @Benchmark public Try<Integer> chainFailingHalfway() {
+        return Try.apply(() -> input)
+                .map(i -> i * 2)
+                .filter(i -> i % 2 == 1)
+                .map(i -> i - 1)
+                .recover(e -> 0);
+    }
+}
@@ -0,0 +1,77 @@
+package org.brudergrimm.jmonad.flow;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.function.BiConsumer;
+import java.util.stream.Collector;
+
+/* Folds everything it gets into the collector's container, asking for a batch at a time and for the next half batch
+whenever half of it arrived, so publishers don't have to buffer everything but also aren't asked for every element */
+final class CollectingSubscriber<T, A, R> implements Flow.Subscriber<T> {
+    private static final int BATCH = 128;
+
+    private final CompletableFuture<R> result;
+    private final Collector<? super T, A, R> collector;
+    private final BiConsumer<A, ? super T> accumulator;
+    private final A container;
+
+    private volatile Flow.Subscription subscription;
+    private int received; // onNext is never called concurrently
+
+    CollectingSubscriber(CompletableFuture<R> result, Collector<? super T, A, R> collector) {
+        this.result = result;
+        this.collector = collector;
+        this.accumulator = collector.accumulator();
+        this.container = collector.supplier().get();
+    }
+
+    /* the result got cancelled, no need for anything else */
+    void cancel() {
+        Flow.Subscription current = subscription;
+        if (current != null) current.cancel();
+    }
+
+    @Override public void onSubscribe(Flow.Subscription subscription) {
+        if (this.subscription != null) {
+            subscription.cancel();
+            return;
+        }
+        this.subscription = subscription;
+        if (result.isDone()) {
+            subscription.cancel();
+        } else subscription.request(BATCH);
+    }
+
+    @Override public void onNext(T item) {
+        if (result.isDone()) return;
+
+        try {
+            accumulator.accept(container, item);
+        }
+        catch (VirtualMachineError | ThreadDeath | LinkageError fatal) { throw fatal; }
+        catch (Exception nonFatal) {
+            subscription.cancel();
+            result.completeExceptionally(nonFatal);
+            return;
+        }
+
+        if (++received == BATCH / 2) {
+            received = 0;
+            subscription.request(BATCH / 2);
+        }
+    }
+
+    @Override public void onError(Throwable throwable) {
+        result.completeExceptionally(throwable);
+    }
+
+    @Override public void onComplete() {
+        if (result.isDone()) return;
+
+        try {
+            result.complete(collector.finisher().apply(container));
+        }
+        catch (VirtualMachineError | ThreadDeath | LinkageError fatal) { throw fatal; }
+        catch (Exception nonFatal) { result.completeExceptionally(nonFatal); }
+    }
+}
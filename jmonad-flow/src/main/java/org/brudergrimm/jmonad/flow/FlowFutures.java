@@ -0,0 +1,116 @@
+package org.brudergrimm.jmonad.flow;
+
+import org.brudergrimm.jmonad.future.Future;
+import org.brudergrimm.jmonad.tried.Try;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/** Bridges futures and java.util.concurrent.Flow, so results can be streamed with backpressure instead of being
+ *  sequenced into one list that has to fit in memory
+ *
+ *  <pre>{@code
+ *  Flow.Publisher<Try<Row>> rows = FlowFutures.mapAsync(FlowFutures.fromStream(cursor.ids()), repository::load, 16);
+ *  Future<Long> written = FlowFutures.collect(rows, Collectors.summingLong(response::write));
+ *  }</pre>
+ *
+ *  Every publisher from here only ever emits what was requested. Failing futures don't end a stream, they show up
+ *  as a Failure in it - only the upstream failing does */
+public final class FlowFutures {
+    /* handed to subscribers that are turned away right away */
+    static final Flow.Subscription CANCELLED = new Flow.Subscription() {
+        @Override public void request(long n) { }
+        @Override public void cancel() { }
+    };
+
+    private FlowFutures() { }
+
+    /** @param source the elements, only pulled as far as they were requested
+     *  @param <T> type of the elements
+     *  @return a publisher of the elements, which only one subscriber can subscribe to */
+    public static <T> Flow.Publisher<T> fromIterator(Iterator<T> source) {
+        return new IteratorPublisher<>(source, () -> { });
+    }
+
+    /** Same as fromIterator, but closes the stream once it's done or the subscriber cancelled
+     *  @param source the elements, only pulled as far as they were requested
+     *  @param <T> type of the elements
+     *  @return a publisher of the elements, which only one subscriber can subscribe to */
+    public static <T> Flow.Publisher<T> fromStream(Stream<T> source) {
+        return new IteratorPublisher<>(source.iterator(), source::close);
+    }
+
+    /** @param future the future
+     *  @param <T> type of the result
+     *  @return a publisher of the one outcome of the future */
+    public static <T> Flow.Publisher<Try<T>> publish(Future<T> future) {
+        return mapAsync(fromIterator(Collections.singletonList(future).iterator()), Function.identity(), 1);
+    }
+
+    /** Publishes the outcome of every future in the order of the stream, no matter in which order they complete
+     *  The stream is pulled lazily, so futures the stream creates (say with map(id -> Future.apply(...))) only get
+     *  started once there is room for them
+     *  @param futures the futures
+     *  @param parallelism how many futures may be pulled ahead of the subscriber at most
+     *  @param <T> type of the results
+     *  @return a publisher of the outcomes, which only one subscriber can subscribe to */
+    public static <T> Flow.Publisher<Try<T>> publish(Stream<Future<T>> futures, int parallelism) {
+        return mapAsync(fromStream(futures), Function.identity(), parallelism);
+    }
+
+    /** Applies f to every element the upstream publishes, with at most parallelism of the resulting futures between
+     *  the upstream and the subscriber - running or done and waiting for an older one. The outcomes keep the order
+     *  of the upstream, a function that throws or returns a failed future becomes a Failure in the stream
+     *  @param upstream the elements
+     *  @param f turns an element into a future
+     *  @param parallelism how many futures may be in flight at once
+     *  @param <A> type of the elements
+     *  @param <B> type of the results
+     *  @return a publisher of the outcomes, subscribing to it subscribes to the upstream */
+    public static <A, B> Flow.Publisher<Try<B>> mapAsync(Flow.Publisher<A> upstream, Function<A, Future<B>> f, int parallelism) {
+        return new MapAsyncPublisher<>(upstream, f, parallelism);
+    }
+
+    /** Subscribes to the publisher and folds everything it publishes into the collector, a batch at a time
+     *  Cancelling the future cancels the subscription
+     *  @param publisher the elements
+     *  @param collector folds the elements, with a reducing one the elements are never held in memory all at once
+     *  @param <T> type of the elements
+     *  @param <R> type of the result
+     *  @return the result once the publisher completed, or its failure */
+    public static <T, R> Future<R> collect(Flow.Publisher<T> publisher, Collector<? super T, ?, R> collector) {
+        CompletableFuture<R> result = new CompletableFuture<>();
+        CollectingSubscriber<T, ?, R> subscriber = new CollectingSubscriber<>(result, collector);
+        Future<R> collected = Future.fromJavaFuture(result).onCancel(subscriber::cancel);
+        publisher.subscribe(subscriber);
+        return collected;
+    }
+
+    /** @param publisher the elements
+     *  @param <T> type of the elements
+     *  @return all elements the publisher published, in order */
+    public static <T> Future<List<T>> collect(Flow.Publisher<T> publisher) {
+        return collect(publisher, Collectors.toList());
+    }
+
+    /* adds to the demand without overflowing, Long.MAX_VALUE means there is no limit anymore
+    @return the demand before */
+    static long addDemand(AtomicLong requested, long n) {
+        while (true) {
+            long current = requested.get();
+            if (current == Long.MAX_VALUE) return current;
+
+            long next = current + n;
+            if (next < 0) next = Long.MAX_VALUE;
+            if (requested.compareAndSet(current, next)) return current;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package org.brudergrimm.jmonad.flow;
+
+import java.util.Iterator;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/* Pulls from an iterator only as far as the subscriber asked for. An iterator can only be walked once, so there
+is only ever one subscriber - everybody after that gets an IllegalStateException
+Whoever brings the demand up from zero emits until it is back at zero, so requests from within onNext just add
+to the demand instead of recursing */
+final class IteratorPublisher<T> implements Flow.Publisher<T> {
+    private final Iterator<T> source;
+    private final Runnable onTerminate;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    IteratorPublisher(Iterator<T> source, Runnable onTerminate) {
+        this.source = source;
+        this.onTerminate = onTerminate;
+    }
+
+    @Override public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(FlowFutures.CANCELLED);
+            subscriber.onError(new IllegalStateException("An iterator can only be published to one subscriber"));
+            return;
+        }
+        subscriber.onSubscribe(new Emitter(subscriber));
+    }
+
+    private final class Emitter implements Flow.Subscription {
+        private final Flow.Subscriber<? super T> subscriber;
+        private final AtomicLong requested = new AtomicLong();
+        private volatile boolean cancelled;
+        private volatile Throwable badRequest;
+
+        Emitter(Flow.Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override public void request(long n) {
+            if (n <= 0) {
+                badRequest = new IllegalArgumentException("Subscribers have to request a positive amount, got " + n);
+                n = 1; // so somebody gets around to failing
+            }
+            if (FlowFutures.addDemand(requested, n) == 0) emit();
+        }
+
+        @Override public void cancel() {
+            if (cancelled) return;
+            cancelled = true;
+            onTerminate.run();
+        }
+
+        private void emit() {
+            long emitted = 0;
+            long demand = requested.get();
+            while (true) {
+                while (emitted != demand) {
+                    if (cancelled) return;
+                    if (badRequest != null) {
+                        terminate(badRequest);
+                        return;
+                    }
+
+                    T next;
+                    try {
+                        if (!source.hasNext()) {
+                            terminate(null);
+                            return;
+                        }
+                        next = source.next();
+                    }
+                    catch (VirtualMachineError | ThreadDeath | LinkageError fatal) { throw fatal; }
+                    catch (Exception nonFatal) {
+                        terminate(nonFatal);
+                        return;
+                    }
+
+                    subscriber.onNext(next);
+                    emitted++;
+                }
+
+                demand = requested.get();
+                if (emitted == demand) {
+                    demand = requested.addAndGet(-emitted);
+                    if (demand == 0) return;
+                    emitted = 0;
+                }
+            }
+        }
+
+        private void terminate(Throwable failure) {
+            cancel();
+            if (failure != null) {
+                subscriber.onError(failure);
+            } else subscriber.onComplete();
+        }
+    }
+}
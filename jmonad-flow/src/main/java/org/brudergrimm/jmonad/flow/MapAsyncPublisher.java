@@ -0,0 +1,173 @@
+package org.brudergrimm.jmonad.flow;
+
+import org.brudergrimm.jmonad.future.Failed;
+import org.brudergrimm.jmonad.future.Future;
+import org.brudergrimm.jmonad.tried.Failure;
+import org.brudergrimm.jmonad.tried.Success;
+import org.brudergrimm.jmonad.tried.Try;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/* Runs f on whatever the upstream publishes and passes the outcomes on in the order the elements came in
+There are never more than parallelism elements between upstream and downstream, running or done and waiting for
+the ones before them. Only when the oldest one got passed on the next one is requested from upstream, so a slow
+subscriber slows down the whole pipeline instead of piling up results
+Every subscriber subscribes to the upstream on its own */
+final class MapAsyncPublisher<A, B> implements Flow.Publisher<Try<B>> {
+    private final Flow.Publisher<A> upstream;
+    private final Function<A, Future<B>> f;
+    private final int parallelism;
+
+    MapAsyncPublisher(Flow.Publisher<A> upstream, Function<A, Future<B>> f, int parallelism) {
+        if (parallelism < 1) throw new IllegalArgumentException("parallelism must be at least 1, was " + parallelism);
+
+        this.upstream = upstream;
+        this.f = f;
+        this.parallelism = parallelism;
+    }
+
+    @Override public void subscribe(Flow.Subscriber<? super Try<B>> subscriber) {
+        upstream.subscribe(new Stage(subscriber));
+    }
+
+    /* everything that talks to either side happens in drain, which only ever runs on one thread at a time */
+    private final class Stage implements Flow.Subscriber<A>, Flow.Subscription {
+        private final Flow.Subscriber<? super Try<B>> downstream;
+        private final Queue<Slot<B>> window = new ConcurrentLinkedQueue<>();
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+
+        private volatile Flow.Subscription subscription;
+        private volatile boolean done;
+        private volatile Throwable failure;
+        private volatile boolean cancelled;
+        private volatile Throwable badRequest;
+        private boolean started; // only touched while draining
+
+        Stage(Flow.Subscriber<? super Try<B>> downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override public void onSubscribe(Flow.Subscription subscription) {
+            if (this.subscription != null) {
+                subscription.cancel();
+                return;
+            }
+            this.subscription = subscription;
+            downstream.onSubscribe(this);
+            drain();
+        }
+
+        @Override public void onNext(A item) {
+            if (cancelled) return;
+
+            Future<B> next = Try.apply(() -> Objects.requireNonNull(f.apply(item), "mapAsync function returned null"))
+                    .fold(Failed::apply, Function.identity());
+            Slot<B> slot = new Slot<>(next);
+            window.offer(slot);
+
+            next.toJavaFuture().whenComplete((value, throwable) -> {
+                slot.outcome = throwable == null ? Success.apply(value) : Failure.apply(unwrap(throwable));
+                drain();
+            });
+        }
+
+        @Override public void onError(Throwable throwable) {
+            failure = throwable;
+            done = true;
+            drain();
+        }
+
+        @Override public void onComplete() {
+            done = true;
+            drain();
+        }
+
+        @Override public void request(long n) {
+            if (n <= 0) badRequest = new IllegalArgumentException("Subscribers have to request a positive amount, got " + n);
+            else FlowFutures.addDemand(requested, n);
+            drain();
+        }
+
+        @Override public void cancel() {
+            cancelled = true;
+            drain();
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) return; // whoever is draining will go around once more
+
+            int missed = 1;
+            do {
+                if (cancelled) {
+                    stop();
+                    return;
+                }
+                if (badRequest != null) {
+                    stop();
+                    downstream.onError(badRequest);
+                    return;
+                }
+                if (!started) {
+                    started = true;
+                    subscription.request(parallelism);
+                }
+
+                long demand = requested.get();
+                long emitted = 0;
+                while (emitted != demand) {
+                    Slot<B> oldest = window.peek();
+                    if (oldest == null || oldest.outcome == null) break;
+
+                    window.poll();
+                    downstream.onNext(oldest.outcome);
+                    emitted++;
+                    if (cancelled) break; // gets cleaned up on the next round
+                }
+
+                if (emitted != 0) {
+                    if (demand != Long.MAX_VALUE) requested.addAndGet(-emitted);
+                    if (!cancelled) subscription.request(emitted); // that many slots are free again
+                }
+
+                if (done && window.isEmpty() && !cancelled) {
+                    cancelled = true; // nothing may be signalled after this
+                    Throwable failed = failure;
+                    if (failed != null) {
+                        downstream.onError(failed);
+                    } else downstream.onComplete();
+                    return;
+                }
+
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        /* the results nobody is going to see anymore don't need to be computed either */
+        private void stop() {
+            subscription.cancel();
+            Slot<B> slot;
+            while ((slot = window.poll()) != null) slot.future.cancel(false);
+        }
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        return throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+    }
+
+    private static final class Slot<B> {
+        final Future<B> future;
+        volatile Try<B> outcome;
+
+        Slot(Future<B> future) {
+            this.future = future;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package org.brudergrimm.jmonad.flow;
+
+import org.brudergrimm.jmonad.future.Future;
+import org.brudergrimm.jmonad.tried.Try;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlowFuturesTest {
+    private static final Duration timeout = Duration.ofSeconds(5);
+
+    private ExecutorService pool;
+
+    @BeforeEach void construct() {
+        pool = Executors.newFixedThreadPool(8);
+    }
+
+    @AfterEach void destruct() {
+        pool.shutdownNow();
+    }
+
+    @Test void testPublishHonorsDemand() throws InterruptedException {
+        Stream<Future<Integer>> futures = IntStream.range(0, 10).mapToObj(i -> Future.apply(() -> i, pool));
+        Recording<Try<Integer>> recording = new Recording<>();
+        FlowFutures.publish(futures, 4).subscribe(recording);
+
+        recording.subscription.request(3);
+        Thread.sleep(100);
+        assertEquals(3, recording.items.size());
+        assertFalse(recording.done.await(0, TimeUnit.MILLISECONDS));
+
+        recording.subscription.request(7);
+        assertTrue(recording.done.await(5, TimeUnit.SECONDS));
+        assertEquals(IntStream.range(0, 10).boxed().collect(Collectors.toList()),
+                recording.items.stream().map(Try::get).collect(Collectors.toList()));
+        assertNull(recording.failure);
+    }
+
+    @Test void testMapAsyncKeepsOrder() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger mostRunning = new AtomicInteger();
+        Flow.Publisher<Try<Integer>> doubled = FlowFutures.mapAsync(
+                FlowFutures.fromIterator(IntStream.range(0, 200).iterator()),
+                i -> Future.apply(() -> {
+                    mostRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    try { Thread.sleep(ThreadLocalRandom.current().nextInt(3)); } catch (InterruptedException e) { throw new IllegalStateException(e); }
+                    running.decrementAndGet();
+                    return i * 2;
+                }, pool),
+                6);
+
+        List<Integer> results = FlowFutures.collect(doubled, Collectors.mapping(Try::get, Collectors.toList()))
+                .await(timeout).get();
+        assertEquals(IntStream.range(0, 200).map(i -> i * 2).boxed().collect(Collectors.toList()), results);
+        assertTrue(mostRunning.get() <= 6);
+    }
+
+    @Test void testFailuresStayInTheStream() {
+        Flow.Publisher<Try<Integer>> checked = FlowFutures.mapAsync(
+                FlowFutures.fromIterator(IntStream.range(0, 6).iterator()),
+                i -> {
+                    if (i == 4) throw new IllegalArgumentException("four");
+                    return Future.apply(() -> {
+                        if (i % 2 == 1) throw new IllegalStateException("odd");
+                        return i;
+                    }, pool);
+                },
+                3);
+
+        List<Try<Integer>> outcomes = FlowFutures.collect(checked).await(timeout).get();
+        assertEquals(6, outcomes.size());
+        assertEquals(0, outcomes.get(0).get());
+        assertFalse(outcomes.get(1).isSuccess());
+        assertEquals(2, outcomes.get(2).get());
+        assertFalse(outcomes.get(4).isSuccess());
+    }
+
+    @Test void testUpstreamFromTheJdk() throws InterruptedException {
+        SubmissionPublisher<Integer> source = new SubmissionPublisher<>(pool, 16);
+        Future<Long> sum = FlowFutures.collect(
+                FlowFutures.mapAsync(source, i -> Future.apply(() -> (long) i, pool), 4),
+                Collectors.summingLong(Try::get));
+
+        IntStream.rangeClosed(1, 1000).forEach(source::submit); // blocks whenever we are too far ahead
+        source.close();
+        assertEquals(500500L, sum.await(timeout).get());
+
+        SubmissionPublisher<Integer> failing = new SubmissionPublisher<>(pool, 16);
+        Future<List<Integer>> collected = FlowFutures.collect(failing);
+        failing.closeExceptionally(new IllegalStateException("cursor closed"));
+        assertFalse(collected.await(timeout).isSuccess());
+    }
+
+    @Test void testCancelStopsPulling() throws InterruptedException {
+        AtomicInteger pulled = new AtomicInteger();
+        Iterator<Integer> endless = Stream.generate(pulled::incrementAndGet).iterator();
+        Recording<Try<Integer>> recording = new Recording<>();
+        FlowFutures.mapAsync(FlowFutures.fromIterator(endless), i -> Future.apply(() -> i, pool), 4).subscribe(recording);
+
+        recording.subscription.request(2);
+        Thread.sleep(100);
+        recording.subscription.cancel();
+        Thread.sleep(50);
+
+        assertEquals(2, recording.items.size());
+        assertTrue(pulled.get() <= 6, "pulled " + pulled.get()); // the two we got and a window of four
+    }
+
+    @Test void testCancelCollect() {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        Flow.Publisher<Integer> silent = subscriber -> subscriber.onSubscribe(new Flow.Subscription() {
+            @Override public void request(long n) { }
+            @Override public void cancel() { cancelled.set(true); }
+        });
+
+        Future<List<Integer>> collected = FlowFutures.collect(silent);
+        assertTrue(collected.cancel(true));
+        assertTrue(cancelled.get());
+    }
+
+    @Test void testOnlyOneSubscriber() {
+        Flow.Publisher<Integer> once = FlowFutures.fromIterator(IntStream.range(0, 3).iterator());
+        assertEquals(3, FlowFutures.collect(once).await(timeout).get().size());
+        assertFalse(FlowFutures.collect(once).await(timeout).isSuccess());
+
+        List<Try<Integer>> single = FlowFutures.collect(FlowFutures.publish(Future.apply(() -> 7, pool))).await(timeout).get();
+        assertEquals(7, single.get(0).get());
+    }
+
+    /* remembers everything it gets and leaves requesting to the test */
+    private static final class Recording<T> implements Flow.Subscriber<T> {
+        final List<T> items = new CopyOnWriteArrayList<>();
+        final CountDownLatch done = new CountDownLatch(1);
+        volatile Flow.Subscription subscription;
+        volatile Throwable failure;
+
+        @Override public void onSubscribe(Flow.Subscription subscription) { this.subscription = subscription; }
+        @Override public void onNext(T item) { items.add(item); }
+        @Override public void onError(Throwable throwable) { failure = throwable; done.countDown(); }
+        @Override public void onComplete() { done.countDown(); }
+    }
+}
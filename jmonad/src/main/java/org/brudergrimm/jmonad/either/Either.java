@@ -0,0 +1,59 @@
+package org.brudergrimm.jmonad.either;
+
+import org.brudergrimm.jmonad.option.Option;
+
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/** Java has no data type to represent a disjunct set. This is why I created Either
+ *  You may either create a Left or Right that may hold it's corresponding type (L and R respectively).
+ *  A callee may now expect an Either of <\L, R>, which he has to account for.
+ *
+ *  Either is right biased, so map and flatMap work on Right and hand back a Left as it is, just like a Failure in Try.
+ *  Use them instead of going through right(), which creates a projection every time
+ *  @param <L> left of the disjunct value
+ *  @param <R> right of the disjunct value */
+public abstract class Either<L, R> {
+    public abstract boolean isLeft();
+    public abstract boolean isRight();
+
+    public LeftProjection<L, R> left() {
+        return new LeftProjection<>(this);
+    }
+
+    public RightProjection<L, R> right() {
+        return new RightProjection<>(this);
+    }
+
+    public abstract <T> T fold(Function<L, T> functionL, Function<R, T> functionR);
+
+    public abstract Option<R> toOption();
+
+    /** @param fn the function to apply to the right value
+     *  @param <T> return type
+     *  @return Right of the result, or this if it is a Left */
+    public abstract <T> Either<L, T> map(Function<R, T> fn);
+
+    /** @param fn the function to apply to the right value, must return an Either
+     *  @param <T> return type
+     *  @return the result of fn, or this if it is a Left */
+    public abstract <T> Either<L, T> flatMap(Function<R, Either<L, T>> fn);
+
+    /** @param fn the function to apply to the left value
+     *  @param <T> return type
+     *  @return Left of the result, or this if it is a Right */
+    public abstract <T> Either<T, R> mapLeft(Function<L, T> fn);
+
+    /** @param condition predicate for the right value
+     *  @param zero called for the left value if the condition doesn't hold
+     *  @return this if it is a Left or the condition holds, else Left of zero */
+    public abstract Either<L, R> filterOrElse(Predicate<R> condition, Supplier<L> zero);
+
+    /** @param other the fallback
+     *  @return the right value or other */
+    public abstract R getOrElse(R other);
+
+    /** @return a Right of the left value or a Left of the right value */
+    public abstract Either<R, L> swap();
+}
@@ -0,0 +1,55 @@
+package org.brudergrimm.jmonad.either;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+final public class Invalid<E, A> extends Validated<E, A> {
+    private final List<E> errors;
+    private Invalid(List<E> errors) {
+        this.errors = errors;
+    }
+    public static <E, A> Invalid<E, A> apply(E error) { return new Invalid<>(Collections.singletonList(error)); }
+
+    /** @param errors at least one error
+     *  @throws IllegalArgumentException if there are none, that would be Valid */
+    public static <E, A> Invalid<E, A> fromErrors(List<E> errors) {
+        if (errors.isEmpty()) throw new IllegalArgumentException("Invalid needs at least one error");
+        return new Invalid<>(Collections.unmodifiableList(new ArrayList<>(errors)));
+    }
+
+    /* for lists that nobody else holds on to */
+    static <E, A> Invalid<E, A> wrap(List<E> errors) { return new Invalid<>(Collections.unmodifiableList(errors)); }
+
+    public List<E> errors() { return this.errors; }
+
+    @Override public boolean isValid() { return false; }
+
+    @Override List<E> errorList() { return this.errors; }
+    @Override A value() { return null; }
+
+    @Override public <T> T fold(Function<List<E>, T> functionE, Function<A, T> functionA) {
+        return functionE.apply(this.errors);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override public <B> Validated<E, B> map(Function<A, B> fn) { return (Validated<E, B>) this; }
+
+    @Override public <F> Validated<F, A> mapErrors(Function<E, F> fn) {
+        List<F> mapped = new ArrayList<>(this.errors.size());
+        for (E error : this.errors) mapped.add(fn.apply(error));
+        return wrap(mapped);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override public <B> Validated<E, B> andThen(Function<A, Validated<E, B>> fn) { return (Validated<E, B>) this; }
+
+    @Override public A getOrElse(A other) { return other; }
+
+    @Override public Either<List<E>, A> toEither() { return Left.apply(this.errors); }
+
+    @Override public String toString() {
+        return String.format("Invalid(%s)", this.errors);
+    }
+}
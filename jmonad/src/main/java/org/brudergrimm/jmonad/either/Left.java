@@ -0,0 +1,43 @@
+package org.brudergrimm.jmonad.either;
+
+import org.brudergrimm.jmonad.option.None;
+import org.brudergrimm.jmonad.option.Option;
+
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+final public class Left<L, R> extends Either<L, R> {
+    private final L value;
+    private Left(L value) {
+        this.value = value;
+    }
+    public static <L, R> Left<L, R> apply(L left) { return new Left<>(left); }
+
+    public L get() { return this.value; }
+
+    @Override public boolean isLeft() { return true; }
+    @Override public boolean isRight() { return false; }
+
+    @Override public <T> T fold(Function<L, T> functionL, Function<R, T> functionR) {
+        return functionL.apply(this.value);
+    }
+
+    @Override public Option<R> toOption() { return None.apply(); }
+
+    @SuppressWarnings("unchecked")
+    @Override public <T> Either<L, T> map(Function<R, T> fn) { return (Either<L, T>) this; }
+
+    @SuppressWarnings("unchecked")
+    @Override public <T> Either<L, T> flatMap(Function<R, Either<L, T>> fn) { return (Either<L, T>) this; }
+
+    @Override public <T> Either<T, R> mapLeft(Function<L, T> fn) {
+        return Left.apply(fn.apply(this.value));
+    }
+
+    @Override public Either<L, R> filterOrElse(Predicate<R> condition, Supplier<L> zero) { return this; }
+
+    @Override public R getOrElse(R other) { return other; }
+
+    @Override public Either<R, L> swap() { return Right.apply(this.value); }
+}
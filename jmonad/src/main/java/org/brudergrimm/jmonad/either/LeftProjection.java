@@ -15,9 +15,6 @@ final public class LeftProjection<L, R> {
         throw new NoSuchElementException("LeftProjection of Right");
     }
     public <T> Either<T, R> map(Function<L, T> fn) {
-        if (this.either instanceof Left) {
-            return Left.apply(fn.apply(((Left<L, R>) this.either).get()));
-        }
-        return (Either<T, R>) this.either;
+        return this.either.mapLeft(fn);
     }
 }
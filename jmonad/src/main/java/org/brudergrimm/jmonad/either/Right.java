@@ -0,0 +1,46 @@
+package org.brudergrimm.jmonad.either;
+
+import org.brudergrimm.jmonad.option.Option;
+import org.brudergrimm.jmonad.option.Some;
+
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+final public class Right<L, R> extends Either<L, R> {
+    private final R value;
+    private Right(R value) {
+        this.value = value;
+    }
+    public static <L, R> Right<L, R> apply(R value) { return new Right<>(value); }
+
+    public R get() { return this.value; }
+
+    @Override public boolean isLeft() { return false; }
+    @Override public boolean isRight() { return true; }
+
+    @Override public <T> T fold(Function<L, T> functionL, Function<R, T> functionR) {
+        return functionR.apply(this.value);
+    }
+
+    @Override public Option<R> toOption() { return Some.apply(this.value); }
+
+    @Override public <T> Either<L, T> map(Function<R, T> fn) {
+        return Right.apply(fn.apply(this.value));
+    }
+
+    @Override public <T> Either<L, T> flatMap(Function<R, Either<L, T>> fn) {
+        return fn.apply(this.value);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override public <T> Either<T, R> mapLeft(Function<L, T> fn) { return (Either<T, R>) this; }
+
+    @Override public Either<L, R> filterOrElse(Predicate<R> condition, Supplier<L> zero) {
+        return condition.test(this.value) ? this : Left.apply(zero.get());
+    }
+
+    @Override public R getOrElse(R other) { return this.value; }
+
+    @Override public Either<R, L> swap() { return Left.apply(this.value); }
+}
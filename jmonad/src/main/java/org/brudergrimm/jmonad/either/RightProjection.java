@@ -14,9 +14,6 @@ final public class RightProjection<L, R> {
         throw new NoSuchElementException("RightProjection of Right");
     }
     public <T> Either<L, T> map(Function<R, T> fn) {
-        if (this.either instanceof Right) {
-            return Right.apply(fn.apply(((Right<L, R>) this.either).get()));
-        }
-        return (Either<L, T>) this.either;
+        return this.either.map(fn);
     }
 }
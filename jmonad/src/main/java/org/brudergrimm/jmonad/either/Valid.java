@@ -0,0 +1,43 @@
+package org.brudergrimm.jmonad.either;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+final public class Valid<E, A> extends Validated<E, A> {
+    private final A value;
+    private Valid(A value) {
+        this.value = value;
+    }
+    public static <E, A> Valid<E, A> apply(A value) { return new Valid<>(value); }
+
+    public A get() { return this.value; }
+
+    @Override public boolean isValid() { return true; }
+
+    @Override List<E> errorList() { return Collections.emptyList(); }
+    @Override A value() { return this.value; }
+
+    @Override public <T> T fold(Function<List<E>, T> functionE, Function<A, T> functionA) {
+        return functionA.apply(this.value);
+    }
+
+    @Override public <B> Validated<E, B> map(Function<A, B> fn) {
+        return Valid.apply(fn.apply(this.value));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override public <F> Validated<F, A> mapErrors(Function<E, F> fn) { return (Validated<F, A>) this; }
+
+    @Override public <B> Validated<E, B> andThen(Function<A, Validated<E, B>> fn) {
+        return fn.apply(this.value);
+    }
+
+    @Override public A getOrElse(A other) { return this.value; }
+
+    @Override public Either<List<E>, A> toEither() { return Right.apply(this.value); }
+
+    @Override public String toString() {
+        return String.format("Valid(%s)", this.value);
+    }
+}
@@ -0,0 +1,124 @@
+package org.brudergrimm.jmonad.either;
+
+import org.brudergrimm.jmonad.either.function.Function3;
+import org.brudergrimm.jmonad.future.Future;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/** Like Either, but combining two Invalids keeps the errors of both instead of stopping at the first one
+ *  Use it when you want all the reasons a request is bad in one go, not just the first one
+ *
+ *  <pre>{@code
+ *  Validated<String, User> user = Validated.mapN(
+ *      validateName(request.name),
+ *      validateMail(request.mail),
+ *      User::new);
+ *  }</pre>
+ *
+ *  Checks that take a while can be run next to each other with parallel, which still reports the errors in the
+ *  order the checks were given in
+ *  @param <E> the type of a single error
+ *  @param <A> the type of the valid value */
+public abstract class Validated<E, A> {
+    public abstract boolean isValid();
+    public boolean isInvalid() { return !isValid(); }
+
+    /* empty for Valid */
+    abstract List<E> errorList();
+    /* null for Invalid */
+    abstract A value();
+
+    public abstract <T> T fold(Function<List<E>, T> functionE, Function<A, T> functionA);
+
+    /** @param fn the function to apply to the valid value
+     *  @param <B> return type
+     *  @return Valid of the result, or this if it is Invalid */
+    public abstract <B> Validated<E, B> map(Function<A, B> fn);
+
+    /** @param fn the function to apply to every error
+     *  @param <F> return type
+     *  @return Invalid of the mapped errors, or this if it is Valid */
+    public abstract <F> Validated<F, A> mapErrors(Function<E, F> fn);
+
+    /** For checks that need the result of the one before, stops at the first Invalid like Either.flatMap
+     *  @param fn the next check
+     *  @param <B> return type
+     *  @return the result of fn, or this if it is Invalid */
+    public abstract <B> Validated<E, B> andThen(Function<A, Validated<E, B>> fn);
+
+    public abstract A getOrElse(A other);
+
+    /** @return Right of the valid value or Left of all the errors */
+    public abstract Either<List<E>, A> toEither();
+
+    public static <E, A> Validated<E, A> fromEither(Either<E, A> either) {
+        return either.fold(Invalid::apply, Valid::apply);
+    }
+
+    /** @param other the other validation, its errors come after the ones of this
+     *  @param fn combines both valid values
+     *  @param <B> the valid type of other
+     *  @param <C> return type
+     *  @return Valid of the combined values, or Invalid of the errors of both */
+    public <B, C> Validated<E, C> zip(Validated<E, B> other, BiFunction<A, B, C> fn) {
+        if (isValid() && other.isValid()) return Valid.apply(fn.apply(value(), other.value()));
+        return Invalid.wrap(errors(this, other));
+    }
+
+    public static <E, A, B, C> Validated<E, C> mapN(Validated<E, A> a, Validated<E, B> b, BiFunction<A, B, C> fn) {
+        return a.zip(b, fn);
+    }
+
+    public static <E, A, B, C, D> Validated<E, D> mapN(Validated<E, A> a, Validated<E, B> b, Validated<E, C> c,
+                                                        Function3<A, B, C, D> fn) {
+        if (a.isValid() && b.isValid() && c.isValid()) return Valid.apply(fn.apply(a.value(), b.value(), c.value()));
+        return Invalid.wrap(errors(a, b, c));
+    }
+
+    /** @param validations any number of validations
+     *  @param <E> the type of a single error
+     *  @param <A> the type of the valid values
+     *  @return Valid of all the values, or Invalid of all the errors in the order of the validations */
+    public static <E, A> Validated<E, List<A>> sequence(List<Validated<E, A>> validations) {
+        List<E> errors = new ArrayList<>();
+        List<A> values = new ArrayList<>(validations.size());
+        for (Validated<E, A> validation : validations) {
+            if (validation.isValid()) values.add(validation.value());
+            else errors.addAll(validation.errorList());
+        }
+        return errors.isEmpty() ? Valid.apply(values) : Invalid.wrap(errors);
+    }
+
+    /** Runs every check on the executor at the same time and collects the results like sequence
+     *  A check that throws fails the returned future, it doesn't count as an error
+     *  @param checks the checks to run
+     *  @param executor where to run them
+     *  @param <E> the type of a single error
+     *  @param <A> the type of the valid values
+     *  @return Future of Valid of all the values, or Invalid of all the errors in the order of the checks */
+    public static <E, A> Future<Validated<E, List<A>>> parallel(List<Supplier<Validated<E, A>>> checks, Executor executor) {
+        List<Future<Validated<E, A>>> running = new ArrayList<>(checks.size());
+        for (Supplier<Validated<E, A>> check : checks) running.add(Future.apply(check, executor));
+        return Future.sequence(running).map(Validated::sequence);
+    }
+
+    /** Same as parallel with the executor, on the default executor of Future */
+    public static <E, A> Future<Validated<E, List<A>>> parallel(List<Supplier<Validated<E, A>>> checks) {
+        return parallel(checks, Future.defaultExecutor());
+    }
+
+    /* always a fresh list, the ones of the Invalids are already wrapped and chained zips would wrap them again */
+    @SafeVarargs
+    private static <E> List<E> errors(Validated<E, ?>... validations) {
+        int size = 0;
+        for (Validated<E, ?> validation : validations) size += validation.errorList().size();
+        List<E> errors = new ArrayList<>(size);
+        for (Validated<E, ?> validation : validations) errors.addAll(validation.errorList());
+        return errors;
+    }
+}
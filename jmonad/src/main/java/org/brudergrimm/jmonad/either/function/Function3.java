@@ -0,0 +1,6 @@
+package org.brudergrimm.jmonad.either.function;
+
+@FunctionalInterface
+public interface Function3<A, B, C, R> {
+    R apply(A a, B b, C c);
+}
@@ -0,0 +1,265 @@
+package org.brudergrimm.jmonad.future;
+
+import org.brudergrimm.jmonad.option.None;
+import org.brudergrimm.jmonad.option.Option;
+import org.brudergrimm.jmonad.option.Some;
+import org.brudergrimm.jmonad.tried.Try;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/** Caches the futures a loader returns per key, so concurrent callers for the same key share one load
+ *  Values are dropped expireAfterWrite after their load completed, failures already after failureTtl so a broken
+ *  backend isn't hit over and over, but also doesn't stay broken in here for long. Once there are more than
+ *  maximumSize entries, the oldest ones go first
+ *
+ *  <pre>{@code
+ *  AsyncCache<UserId, User> users = AsyncCache.apply(repository::load, 10000, Duration.ofMinutes(5), Duration.ofSeconds(1));
+ *  Future<User> user = users.get(id);
+ *  }</pre>
+ *
+ *  Callers that share a load each get their own future, so one of them cancelling (or cancelling something mapped
+ *  from it) doesn't fail the others. The load itself only gets cancelled, and its entry dropped, once every caller
+ *  waiting for it gave up
+ *  @param <K> type of the keys
+ *  @param <V> type of the values */
+public final class AsyncCache<K, V> {
+    private final Function<K, Future<V>> loader;
+    private final long maximumSize;
+    private final long expireAfterWriteNanos;
+    private final long failureTtlNanos;
+    private final LongSupplier nanoTime;
+
+    private final ConcurrentHashMap<K, Entry<K, V>> entries = new ConcurrentHashMap<>();
+    /* every entry inserted, oldest first - entries that were replaced or removed in the meantime are skipped, and
+    compacted away once they make up more than half of the queue */
+    private final ConcurrentLinkedQueue<Entry<K, V>> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicLong queued = new AtomicLong();
+    private final AtomicBoolean compacting = new AtomicBoolean();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private AsyncCache(Function<K, Future<V>> loader, long maximumSize, Duration expireAfterWrite, Duration failureTtl,
+                       LongSupplier nanoTime) {
+        if (maximumSize < 1) throw new IllegalArgumentException("maximumSize must be at least 1, was " + maximumSize);
+        if (expireAfterWrite.isNegative()) throw new IllegalArgumentException("expireAfterWrite must not be negative");
+        if (failureTtl.isNegative()) throw new IllegalArgumentException("failureTtl must not be negative");
+
+        this.loader = loader;
+        this.maximumSize = maximumSize;
+        this.expireAfterWriteNanos = expireAfterWrite.toNanos();
+        this.failureTtlNanos = failureTtl.toNanos();
+        this.nanoTime = nanoTime;
+    }
+
+    /** @param loader loads the value for a key, is called once per key until the value expires
+     *  @param maximumSize how many entries to keep at most
+     *  @param expireAfterWrite how long to keep a value after its load completed
+     *  @param failureTtl how long to keep a failed load, Duration.ZERO to not keep failures at all
+     *  @param <K> type of the keys
+     *  @param <V> type of the values
+     *  @return an empty cache */
+    public static <K, V> AsyncCache<K, V> apply(Function<K, Future<V>> loader, long maximumSize,
+                                                Duration expireAfterWrite, Duration failureTtl) {
+        return apply(loader, maximumSize, expireAfterWrite, failureTtl, System::nanoTime);
+    }
+
+    /* same as apply, but expires by the given clock instead of System.nanoTime */
+    static <K, V> AsyncCache<K, V> apply(Function<K, Future<V>> loader, long maximumSize, Duration expireAfterWrite,
+                                         Duration failureTtl, LongSupplier nanoTime) {
+        return new AsyncCache<>(loader, maximumSize, expireAfterWrite, failureTtl, nanoTime);
+    }
+
+    /** Same as apply with a failureTtl, but doesn't keep failures at all */
+    public static <K, V> AsyncCache<K, V> apply(Function<K, Future<V>> loader, long maximumSize, Duration expireAfterWrite) {
+        return apply(loader, maximumSize, expireAfterWrite, Duration.ZERO);
+    }
+
+    /** @param key the key
+     *  @return the cached future for key, or the future of a new load if there is none or it expired */
+    public Future<V> get(K key) {
+        Entry<K, V> cached = entries.get(key);
+        if (cached != null && !cached.expired(nanoTime.getAsLong()) && cached.join()) {
+            hits.increment();
+            return cached.handle();
+        }
+
+        Entry<K, V> created = new Entry<>(key);
+        while (true) {
+            Entry<K, V> current = entries.get(key);
+            if (current == null) {
+                if (entries.putIfAbsent(key, created) == null) break;
+            } else if (current.expired(nanoTime.getAsLong()) || current.abandoned()) {
+                if (entries.replace(key, current, created)) break;
+            } else if (current.join()) { // somebody else started loading while we weren't looking, share theirs
+                hits.increment();
+                return current.handle();
+            }
+        }
+
+        misses.increment();
+        insertionOrder.add(created);
+        queued.incrementAndGet();
+        load(created);
+        evict();
+        return created.handle();
+    }
+
+    /** @param key the key
+     *  @return Some of the cached future for key, None if there is none or it expired - never loads */
+    public Option<Future<V>> getIfPresent(K key) {
+        Entry<K, V> cached = entries.get(key);
+        if (cached == null || cached.expired(nanoTime.getAsLong()) || !cached.join()) return None.apply();
+        hits.increment();
+        return Some.apply(cached.handle());
+    }
+
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+        insertionOrder.clear();
+        queued.set(0);
+    }
+
+    /** @return how many entries there are, expired ones included until somebody notices */
+    public long size() {
+        return entries.mappingCount();
+    }
+
+    /** @return how often get found a future, including the ones that were still loading */
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    /** @return how often get had to load */
+    public long missCount() {
+        return misses.sum();
+    }
+
+    /** @return how many entries had to go because there were more than maximumSize */
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    /* how long the insertion order is, stale entries included */
+    long queued() {
+        return queued.get();
+    }
+
+    private void load(Entry<K, V> entry) {
+        Future<V> loading = Try.apply(() -> loader.apply(entry.key)).fold(Failed::apply, Function.identity());
+        entry.future.onCancel(() -> {
+            entries.remove(entry.key, entry);
+            loading.cancel(true);
+        });
+
+        loading.toJavaFuture().whenComplete((value, failure) -> {
+            if (failure != null && failureTtlNanos == 0) {
+                entries.remove(entry.key, entry);
+            } else entry.expiresAt = nanoTime.getAsLong() + (failure == null ? expireAfterWriteNanos : failureTtlNanos);
+            entry.loaded = true; // publishes expiresAt
+
+            if (failure != null) {
+                entry.promise.completeExceptionally(failure);
+            } else entry.promise.complete(value);
+        });
+    }
+
+    /* drops expired, replaced and invalidated entries from the front of the queue while we are at it,
+    then the oldest until we fit again */
+    private void evict() {
+        long now = nanoTime.getAsLong();
+        for (Entry<K, V> oldest; (oldest = insertionOrder.peek()) != null
+                && (oldest.expired(now) || entries.get(oldest.key) != oldest); ) {
+            if (insertionOrder.remove(oldest)) {
+                queued.decrementAndGet();
+                entries.remove(oldest.key, oldest);
+            }
+        }
+
+        while (entries.mappingCount() > maximumSize) {
+            Entry<K, V> oldest = insertionOrder.poll();
+            if (oldest == null) break;
+            queued.decrementAndGet();
+            if (entries.remove(oldest.key, oldest)) evictions.increment();
+        }
+
+        /* entries that left the map somewhere behind the head (invalidated, failed, cancelled) would stay queued
+        forever, so once they are the majority we walk the whole queue - which only happens every so many misses */
+        if (queued.get() > 2 * entries.mappingCount() + 16 && compacting.compareAndSet(false, true)) {
+            try {
+                insertionOrder.removeIf(entry -> entries.get(entry.key) != entry);
+                queued.set(insertionOrder.size());
+            } finally {
+                compacting.set(false);
+            }
+        }
+    }
+
+    private static final class Entry<K, V> {
+        final K key;
+        final CompletableFuture<V> promise = new CompletableFuture<>();
+        final Future<V> future = Future.fromJavaFuture(promise);
+        /* callers that still wait for the load, the one who created the entry included - -1 once all of them gave up */
+        final AtomicInteger waiting = new AtomicInteger(1);
+        volatile long expiresAt;
+        volatile boolean loaded;
+
+        Entry(K key) {
+            this.key = key;
+        }
+
+        /* entries that are still loading never expire, everybody should get to share the load */
+        boolean expired(long now) {
+            return loaded && now - expiresAt >= 0;
+        }
+
+        /* false if everybody gave up on the load in the meantime, it's cancelled or about to be */
+        boolean join() {
+            if (promise.isDone()) return true;
+            for (int n; (n = waiting.get()) >= 0; ) {
+                if (waiting.compareAndSet(n, n + 1)) return true;
+            }
+            return false;
+        }
+
+        boolean abandoned() {
+            return waiting.get() < 0;
+        }
+
+        /* once the load is done there is nothing left to cancel, everybody can have the same future. Until then each
+        caller gets their own, and cancelling it only counts as them leaving */
+        Future<V> handle() {
+            if (promise.isDone()) return future;
+
+            CompletableFuture<V> own = new CompletableFuture<>();
+            promise.whenComplete((value, failure) -> {
+                if (failure != null) {
+                    own.completeExceptionally(failure);
+                } else own.complete(value);
+            });
+            own.whenComplete((value, failure) -> {
+                if (own.isCancelled()) leave();
+            });
+            return Future.fromJavaFuture(own);
+        }
+
+        /* the last one to leave cancels the load, unless somebody joined again in between */
+        private void leave() {
+            if (waiting.decrementAndGet() == 0 && !promise.isDone() && waiting.compareAndSet(0, -1)) future.cancel(true);
+        }
+    }
+}
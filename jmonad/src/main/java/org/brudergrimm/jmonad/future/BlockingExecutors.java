@@ -0,0 +1,21 @@
+package org.brudergrimm.jmonad.future;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/* There are no virtual threads before java 21, so blocking suppliers get a pool of daemon threads that grows with
+demand and at least keeps them away from the default executor. The multi release jar replaces this class with one that
+hands out virtual threads on 21+, see src/main/java21 */
+final class BlockingExecutors {
+    private BlockingExecutors() { }
+
+    static Executor create() {
+        AtomicInteger count = new AtomicInteger();
+        return Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task, "jmonad-blocking-" + count.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
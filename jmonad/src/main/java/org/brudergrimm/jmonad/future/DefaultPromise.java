@@ -0,0 +1,271 @@
+package org.brudergrimm.jmonad.future;
+
+import org.brudergrimm.jmonad.future.FutureMetrics.Stage;
+import org.brudergrimm.jmonad.option.Option;
+import org.brudergrimm.jmonad.option.Some;
+import org.brudergrimm.jmonad.tried.Failure;
+import org.brudergrimm.jmonad.tried.Failures;
+import org.brudergrimm.jmonad.tried.Success;
+import org.brudergrimm.jmonad.tried.Try;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+public class DefaultPromise<T> extends Future<T> {
+    final Try<CompletableFuture<T>> task;
+
+    /* what cancel has to reach besides our own java future, any of them may be null */
+    private final Future<?> upstream;
+    private final Inner inner;
+    private final Runner<T> runner;
+
+    DefaultPromise(Supplier<T> callable, Executor executor) {
+        this.upstream = null;
+        this.inner = null;
+        this.runner = new Runner<>(callable);
+        // the executor might reject the task, in which case we just fail
+        this.task = Try.apply(() -> CompletableFuture.supplyAsync(runner, executor));
+    }
+
+    /* the runner goes around the instrumentation, a stage cancelled before it started doesn't get reported at all */
+    DefaultPromise(Stage stage, Supplier<T> callable, Executor executor) {
+        this(FutureInstrumentation.supplier(stage, callable), executor);
+    }
+
+    DefaultPromise(CompletableFuture<T> javaFuture) {
+        this(javaFuture, null, null);
+    }
+
+    private DefaultPromise(CompletableFuture<T> javaFuture, Future<?> upstream, Inner inner) {
+        this.upstream = upstream;
+        this.inner = inner;
+        this.runner = null;
+        this.task = Try.apply(() -> javaFuture);
+    }
+
+    /* a stage that depends on upstream, cancelling it cancels upstream as well */
+    static <T> Future<T> downstream(CompletableFuture<T> javaFuture, Future<?> upstream) {
+        return new DefaultPromise<>(javaFuture, upstream, null);
+    }
+
+    /* the future returned by f isn't known until f ran, so cancel reaches it through inner */
+    static <T, R> Future<R> composed(CompletableFuture<T> source, Future<?> upstream,
+                                     Function<T, Future<R>> f, Executor executor) {
+        Inner inner = new Inner();
+        CompletableFuture<R> composed = source.thenComposeAsync(value -> {
+            Future<R> next = f.apply(value);
+            inner.attach(next);
+            return next.toJavaFuture();
+        }, executor);
+        return new DefaultPromise<>(composed, upstream, inner);
+    }
+
+    @Override public CompletableFuture<T> toJavaFuture() {
+        return this.task
+                .fold(
+                        i -> { // either let a java future fail with our exception or
+                            CompletableFuture<T> future = new CompletableFuture<>();
+                            future.completeExceptionally(i);
+                            return future;
+                        },
+                        Function.identity() // just return the underlying java future
+                );
+    }
+
+    @Override public <R> Future<R> map(Function<T, R> f) {
+        Function<T, R> stage = FutureInstrumentation.function(Stage.MAP, f);
+        return this.task.fold(
+                Failed::apply,
+                future -> future.isDone()
+                        ? completed(future, value -> Successful.apply(stage.apply(value)))
+                        : downstream(future.thenApplyAsync(stage, defaultExecutor()), this)
+        );
+    }
+
+    @Override public <R> Future<R> flatMap(Function<T, Future<R>> f) {
+        Function<T, Future<R>> stage = FutureInstrumentation.function(Stage.FLAT_MAP, f);
+        return this.task.fold(
+                Failed::apply,
+                future -> future.isDone()
+                        ? completed(future, stage)
+                        : composed(future, this, stage, defaultExecutor())
+        );
+    }
+
+    /* the future is done, so either we have a value and can continue right here or we just stay failed */
+    private <R> Future<R> completed(CompletableFuture<T> done, Function<T, Future<R>> continuation) {
+        if (done.isCompletedExceptionally()) {
+            @SuppressWarnings("unchecked") Future<R> failed = (Future<R>) this;
+            return failed;
+        }
+        return inline(done.join(), continuation, defaultExecutor());
+    }
+
+    @Override public <R> Future<R> mapOn(Function<T, R> f, Executor executor) {
+        return this.task.fold(
+                Failed::apply,
+                future -> downstream(future.thenApplyAsync(FutureInstrumentation.function(Stage.MAP, f), executor), this)
+        );
+    }
+
+    @Override public <R> Future<R> flatMapOn(Function<T, Future<R>> f, Executor executor) {
+        return this.task.fold(
+                Failed::apply,
+                future -> composed(future, this, FutureInstrumentation.function(Stage.FLAT_MAP, f), executor)
+        );
+    }
+
+    @Override public Option<Try<T>> value() {
+        return this.task.fold(
+                failure -> Some.apply(Failure.apply(failure)),
+                future -> Try.apply(() -> future.getNow(null)).fold( // getNow throws if the future failed
+                        failure -> Some.apply(Failure.apply(cause(failure))),
+                        value -> Option.apply(value).map(Success::apply)
+                )
+        );
+    }
+
+    @Override public Try<T> await(Duration atMost) {
+        return this.task.flatMap(future -> {
+            Object event = FutureEvents.awaitBegin();
+            Try<T> result = Try.applyThrowing(() -> future.get(atMost.toMillis(), TimeUnit.MILLISECONDS));
+            FutureEvents.awaitEnd(event, result.isSuccess());
+            return result;
+        });
+    }
+
+    @Override public Future<T> onSuccess(Consumer<T> t) {
+        this.task.map(future -> future.thenAcceptAsync(t, defaultExecutor()));
+        return this;
+    }
+
+    @Override public Future<T> onFailure(Consumer<Throwable> t) {
+        this.task.map(future ->
+                future.whenCompleteAsync((i, throwable) -> {
+                    if (throwable != null) t.accept(throwable);
+                }, defaultExecutor())
+        );
+        return this;
+    }
+
+    @Override public boolean isCompleted() {
+        return task.map(CompletableFuture::isDone).getOrElse(true);
+    }
+
+    @Override public Future<T> filter(Predicate<T> predicate) {
+        return this.map( r -> {
+            if (predicate.test(r)) {
+                return r;
+            } else throw Failures.predicateMismatch(r);
+        });
+    }
+
+    @Override public Future<Throwable> failed() {
+        return this.task.fold(
+                        Successful::apply,
+                        i -> Failed.apply(Failures.didNotFail())
+                );
+    }
+
+    @Override public boolean cancel(boolean mayInterrupt) {
+        if (!this.task.map(future -> !future.isDone() && future.cancel(mayInterrupt)).getOrElse(false)) return false;
+
+        if (runner != null) runner.cancel(mayInterrupt);
+        if (inner != null) inner.cancel(mayInterrupt);
+        if (upstream != null) upstream.cancel(mayInterrupt);
+        return true;
+    }
+
+    @Override public boolean isCancelled() {
+        return this.task.map(future -> {
+            if (!future.isCompletedExceptionally()) return false;
+            try {
+                future.join();
+                return false;
+            } catch (CancellationException | CompletionException failure) {
+                return cancellation(failure);
+            }
+        }).getOrElse(false);
+    }
+
+    @Override public Future<T> onCancel(Runnable hook) {
+        this.task.map(future -> future.whenComplete((value, throwable) -> {
+            if (cancellation(throwable)) hook.run();
+        }));
+        return this;
+    }
+
+    /* getNow wraps whatever the future failed with, the failure is what it failed with */
+    private static Throwable cause(Throwable failure) {
+        Throwable cause = failure;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    /* stages after a cancelled one don't count as cancelled to the java future, they fail with the cancellation */
+    private static boolean cancellation(Throwable throwable) {
+        return throwable instanceof CancellationException
+                || throwable instanceof CompletionException && throwable.getCause() instanceof CancellationException;
+    }
+
+    /* Holds the future a flatMap returned once it's there, or remembers that we got cancelled before it was */
+    private static final class Inner extends AtomicReference<Object> {
+        void attach(Future<?> future) {
+            if (!compareAndSet(null, future)) future.cancel((Boolean) get());
+        }
+
+        void cancel(boolean mayInterrupt) {
+            Object attached = getAndSet(mayInterrupt);
+            if (attached instanceof Future) ((Future<?>) attached).cancel(mayInterrupt);
+        }
+    }
+
+    /* Remembers which thread runs the supplier, so cancel can interrupt exactly that one and not whatever task the
+    thread picks up next. The runner waits for an interrupt in progress and clears it before it hands the thread back */
+    private static final class Runner<T> implements Supplier<T> {
+        private static final Object FINISHED = new Object();
+        private static final Object INTERRUPTING = new Object();
+
+        private final Supplier<T> body;
+        private final AtomicReference<Object> state = new AtomicReference<>();
+
+        Runner(Supplier<T> body) {
+            this.body = body;
+        }
+
+        @Override public T get() {
+            Thread current = Thread.currentThread();
+            if (!state.compareAndSet(null, current)) throw new CancellationException();
+            try {
+                return body.get();
+            } finally {
+                if (!state.compareAndSet(current, FINISHED)) {
+                    while (state.get() == INTERRUPTING) Thread.yield();
+                    Thread.interrupted();
+                }
+            }
+        }
+
+        void cancel(boolean mayInterrupt) {
+            if (state.compareAndSet(null, FINISHED) || !mayInterrupt) return; // not started yet, it won't anymore
+
+            Object running = state.get();
+            if (running instanceof Thread && state.compareAndSet(running, INTERRUPTING)) {
+                ((Thread) running).interrupt();
+                state.set(FINISHED);
+            }
+        }
+    }
+}
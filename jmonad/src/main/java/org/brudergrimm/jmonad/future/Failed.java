@@ -1,5 +1,6 @@
 package org.brudergrimm.jmonad.future;
 
+import org.brudergrimm.jmonad.future.FutureMetrics.Stage;
 import org.brudergrimm.jmonad.option.Option;
 import org.brudergrimm.jmonad.option.Some;
 import org.brudergrimm.jmonad.tried.Failure;
@@ -7,6 +8,7 @@ import org.brudergrimm.jmonad.tried.Try;
 
 import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -16,6 +18,7 @@ public class Failed<T> extends Future<T> {
 
     private Failed(Throwable exception) {
         this.exception = exception;
+        FutureInstrumentation.failed(Stage.FAILED, exception);
     }
 
     public static <T> Future<T> apply(Throwable throwable) {
@@ -28,12 +31,12 @@ public class Failed<T> extends Future<T> {
         return future;
     }
 
-    @Override public <R> Future<R> map(Function<T, R> f) {
+    @Override public <R> Future<R> mapOn(Function<T, R> f, Executor executor) {
         @SuppressWarnings("unchecked") Future<R> failed = (Future<R>) this;
         return failed;
     }
 
-    @Override public <R> Future<R> flatMap(Function<T, Future<R>> f) {
+    @Override public <R> Future<R> flatMapOn(Function<T, Future<R>> f, Executor executor) {
         @SuppressWarnings("unchecked") Future<R> failed = (Future<R>) this;
         return failed;
     }
@@ -59,6 +62,18 @@ public class Failed<T> extends Future<T> {
         return true;
     }
 
+    @Override public boolean cancel(boolean mayInterrupt) {
+        return false;
+    }
+
+    @Override public boolean isCancelled() {
+        return false;
+    }
+
+    @Override public Future<T> onCancel(Runnable hook) {
+        return this;
+    }
+
     @Override public Future<T> filter(Predicate<T> predicate) {
         return this;
     }
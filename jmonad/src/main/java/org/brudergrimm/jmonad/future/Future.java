@@ -0,0 +1,356 @@
+package org.brudergrimm.jmonad.future;
+
+import org.brudergrimm.jmonad.future.FutureMetrics.Stage;
+import org.brudergrimm.jmonad.option.Option;
+import org.brudergrimm.jmonad.tried.RetryPolicy;
+import org.brudergrimm.jmonad.tried.Try;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static java.util.function.Function.identity;
+
+public abstract class Future<T> {
+    /* Mirrors what CompletableFuture does for its own async methods: the common pool, unless it has
+    no parallelism to offer, in which case every task gets a fresh thread */
+    private static volatile Executor defaultExecutor = ForkJoinPool.getCommonPoolParallelism() > 1
+            ? ForkJoinPool.commonPool()
+            : task -> new Thread(task).start();
+
+    private static volatile Executor blockingExecutor;
+
+    private static volatile FutureMetrics metrics = FutureMetrics.NONE;
+
+    /* How many continuations on already completed futures may nest on one thread before we hop to an
+    executor anyway, so recursive flatMaps can't blow the stack */
+    static final int MAX_INLINE_DEPTH = 32;
+    private static final ThreadLocal<int[]> inlineDepth = ThreadLocal.withInitial(() -> new int[1]);
+
+    /** @return the executor every stage runs on unless you explicitly ask for another one */
+    public static Executor defaultExecutor() {
+        return defaultExecutor;
+    }
+
+    /** Replace the executor that apply, map, flatMap and the callbacks run on if not told otherwise
+     *  Futures that are already scheduled keep running where they are
+     *  @param executor the new default executor */
+    public static void setDefaultExecutor(Executor executor) {
+        defaultExecutor = Objects.requireNonNull(executor, "executor");
+    }
+
+    /** @return the executor for suppliers that block, virtual threads if you run on java 21 or newer */
+    public static Executor blockingExecutor() {
+        Executor executor = blockingExecutor;
+        if (executor == null) {
+            synchronized (Future.class) {
+                if (blockingExecutor == null) { blockingExecutor = BlockingExecutors.create(); }
+                executor = blockingExecutor;
+            }
+        }
+        return executor;
+    }
+
+    /** Replace the executor applyBlocking runs on
+     *  @param executor the new blocking executor */
+    public static void setBlockingExecutor(Executor executor) {
+        blockingExecutor = Objects.requireNonNull(executor, "executor");
+    }
+
+    /** @return the metrics every stage reports to, FutureMetrics.NONE unless you installed some */
+    public static FutureMetrics metrics() {
+        return metrics;
+    }
+
+    /** Report every stage created from now on to the given metrics, FutureMetrics.NONE turns reporting off again
+     *  @param futureMetrics the metrics, FutureStatistics if you don't want to write your own */
+    public static void setMetrics(FutureMetrics futureMetrics) {
+        metrics = Objects.requireNonNull(futureMetrics, "metrics");
+    }
+
+    /** Apply a new future that will eventually finish computation of the supplier or fail
+     *  @param t the supplier
+     *  @param <T> type of the future
+     *  @return a future holding your eventual value */
+    public static <T> Future<T> apply(Supplier<T> t) {
+        return apply(t, defaultExecutor());
+    }
+
+    /** Same as apply but computes the supplier on the given executor
+     *  @param t the supplier
+     *  @param executor where to run the supplier
+     *  @param <T> type of the future
+     *  @return a future holding your eventual value */
+    public static <T> Future<T> apply(Supplier<T> t, Executor executor) {
+        return new DefaultPromise<>(Stage.APPLY, t, executor);
+    }
+
+    /** Same as apply, but for suppliers that spend their time waiting on jdbc, http and the like
+     *  They run on the blocking executor, which uses a virtual thread per supplier on java 21 and a
+     *  separate cached thread pool before that, so they don't hold on to the default executors threads
+     *  @param t the blocking supplier
+     *  @param <T> type of the future
+     *  @return a future holding your eventual value */
+    public static <T> Future<T> applyBlocking(Supplier<T> t) {
+        return apply(t, blockingExecutor());
+    }
+
+    /** Runs the continuation on the callers thread if we are not nested too deep already, otherwise on the fallback
+     *  Used by futures that already hold their value, so map and flatMap don't pay for a thread hop
+     *  @param value the completed value
+     *  @param continuation what to do with it
+     *  @param fallback where to go once the inline depth is exhausted
+     *  @param <T> type of the completed value
+     *  @param <R> type of the resulting future
+     *  @return an already completed future most of the time */
+    static <T, R> Future<R> inline(T value, Function<T, Future<R>> continuation, Executor fallback) {
+        int[] depth = inlineDepth.get();
+        if (depth[0] >= MAX_INLINE_DEPTH) {
+            return DefaultPromise.composed(CompletableFuture.completedFuture(value), null, continuation, fallback);
+        }
+
+        depth[0]++;
+        try {
+            return continuation.apply(value);
+        }
+        catch (VirtualMachineError | ThreadDeath | LinkageError fatal) { throw fatal; }
+        catch (Exception nonFatal) { return Failed.apply(nonFatal); }
+        finally { depth[0]--; }
+    }
+
+    /** @return Turns this into a completeable future */
+    public abstract CompletableFuture<T> toJavaFuture();
+
+    /** Constructs a future from a completeable future
+     *  @param javaFuture the future you want to box
+     *  @param <T> return type
+     *  @return a future of type t */
+    public static <T> Future<T> fromJavaFuture(CompletableFuture<T> javaFuture) {
+        return new DefaultPromise<>(javaFuture);
+    }
+
+    /** Apply a function to the eventual value of this future
+     *  If the value is already there, the function is applied right away on the calling thread
+     *  @param f the function
+     *  @param <R> the functions return type
+     *  @return Future with eventually applied function */
+    public <R> Future<R> map(Function<T, R> f) {
+        return mapOn(f, defaultExecutor());
+    }
+
+    /** Same as map but the function always runs on the given executor
+     *  @param f the function
+     *  @param executor where to apply the function
+     *  @param <R> the functions return type
+     *  @return Future with eventually applied function */
+    public abstract <R> Future<R> mapOn(Function<T, R> f, Executor executor);
+
+    /** Same as map but the applied funtion returns a future itself
+     *  keeps the root, runs on the calling thread if the value is already there
+     *  @param f the function
+     *  @param <R> type of the eventual value in the result of the function
+     *  @return a future of the eventual value of function f */
+    public <R> Future<R> flatMap(Function<T, Future<R>> f) {
+        return flatMapOn(f, defaultExecutor());
+    }
+
+    /** Same as flatMap but the function always runs on the given executor
+     *  @param f the function
+     *  @param executor where to apply the function
+     *  @param <R> type of the eventual value in the result of the function
+     *  @return a future of the eventual value of function f */
+    public abstract <R> Future<R> flatMapOn(Function<T, Future<R>> f, Executor executor);
+
+    /** Get the value - if computation was finished or not
+     *  we will have some way to await in the future
+     *  get it?
+     *  @return Some or None if the future was completed, Failure or Success of the value */
+    public abstract Option<Try<T>> value();
+
+    /** Wait for up to the specified duration and return the future as a try
+     *  @param atMost how long to wait at most
+     *  @return a try of the eventual value */
+    public abstract Try<T> await(Duration atMost);
+
+    /** Add callback to successful value
+     *  @param t the callback
+     *  @return the tapped future */
+    public abstract Future<T> onSuccess(Consumer<T> t);
+
+    /** Add callback to throwable
+     *  @param t the callback
+     *  @return the tapped future */
+    public abstract Future<T> onFailure(Consumer<Throwable> t);
+
+    public abstract boolean isCompleted();
+
+    /** Cancels this future and everything it was built from: the supplier of apply, the futures before a map,
+     *  flatMap or filter, the future a flatMap returned and all futures of a sequence. Stages that haven't started
+     *  yet never will, the ones already running are only interrupted if you say so
+     *  Careful with futures that others build on as well, they get cancelled for them too
+     *  @param mayInterrupt whether to interrupt the thread running the supplier of apply
+     *  @return false if this future was already completed */
+    public abstract boolean cancel(boolean mayInterrupt);
+
+    /** @return true if this future was cancelled, directly or by a future built on it */
+    public abstract boolean isCancelled();
+
+    /** Register a hook that runs once this future gets cancelled, on the thread that cancels it
+     *  Use it to tell long running suppliers to stop early
+     *  @param hook what to do on cancellation
+     *  @return the tapped future */
+    public abstract Future<T> onCancel(Runnable hook);
+
+    /** Apply a filter asynchronously
+     *  @param predicate the filter
+     *  @return the tapped future */
+    public abstract Future<T> filter(Predicate<T> predicate);
+
+    /** Fails with a TimeoutException if this future doesn't complete within the given duration
+     *  Nobody blocks while waiting, the deadline is kept by a single timer thread shared by all futures, the timeout
+     *  itself completes on the default executor
+     *  @param timeout how long to wait at most
+     *  @return a future that completes like this one, or fails once the timeout is up */
+    public Future<T> within(Duration timeout) {
+        if (isCompleted()) return this;
+        return bounded(timeout, bounded -> bounded.completeExceptionally(
+                new TimeoutException("Future didn't complete within " + timeout)
+        ));
+    }
+
+    /** Completes with the given value if this future doesn't complete within the given duration
+     *  Nobody blocks while waiting, the deadline is kept by a single timer thread shared by all futures, the fallback
+     *  is handed out on the default executor
+     *  @param value the fallback
+     *  @param timeout how long to wait at most
+     *  @return a future that completes like this one, or with value once the timeout is up */
+    public Future<T> completeOnTimeout(T value, Duration timeout) {
+        if (isCompleted()) return this;
+        return bounded(timeout, bounded -> bounded.complete(value));
+    }
+
+    private Future<T> bounded(Duration timeout, Consumer<CompletableFuture<T>> onTimeout) {
+        CompletableFuture<T> bounded = new CompletableFuture<>();
+        HashedWheelTimer.Timeout deadline = HashedWheelTimer.shared().schedule(() -> timedOut(bounded, onTimeout), timeout);
+
+        this.toJavaFuture().whenComplete((value, throwable) -> {
+            deadline.cancel();
+            if (throwable != null) {
+                bounded.completeExceptionally(throwable);
+            } else bounded.complete(value);
+        });
+        return DefaultPromise.downstream(bounded, this);
+    }
+
+    /* runs on the timer thread, whatever depends on bounded has to run somewhere else */
+    private static <T> void timedOut(CompletableFuture<T> bounded, Consumer<CompletableFuture<T>> onTimeout) {
+        try {
+            defaultExecutor().execute(() -> onTimeout.accept(bounded));
+        }
+        catch (VirtualMachineError | ThreadDeath | LinkageError fatal) { throw fatal; }
+        catch (Exception rejected) { bounded.completeExceptionally(rejected); }
+    }
+
+    /** Turns a Future[Future[T]] into a Future[T]
+     *  @param <Evidence> type of the inner future
+     *  @return the inner future */
+    public <Evidence> Future<Evidence> flatten() {
+        try {
+            @SuppressWarnings("unchecked") Future<Future<Evidence>> toFlatten = (Future<Future<Evidence>>) this;
+            return DefaultPromise.downstream(
+                    toFlatten.map(Future::toJavaFuture)
+                            .toJavaFuture()
+                            .thenCompose(identity()),
+                    this
+            );
+        } catch (ClassCastException e) {
+            @SuppressWarnings("unchecked") Future<Evidence> identity = (Future<Evidence>) this;
+            return identity;
+        }
+    }
+
+    /** @return Either the acutaly completionexception or an error if the future didn't fail */
+    public abstract Future<Throwable> failed();
+
+    /** Turns a List of homogenous Futures into a homogenous Future List
+     *  @param futures the list of futures
+     *  @param <T> type of whatever is in the list
+     *  @return the eventual list */
+    @SafeVarargs
+    public static <T> Future<List<T>> sequence(Future<T>... futures) {
+        return sequence(Arrays.asList(futures));
+    }
+
+    /** Turns a List of homogenous Futures into a homogenous Future List
+     *  The results keep the order of the futures, no matter in which order they complete
+     *  @param futures the list of futures
+     *  @param <T> type of whatever is in the list
+     *  @return the eventual list */
+    public static <T> Future<List<T>> sequence(List<Future<T>> futures) {
+        return new SequencePromise<>(futures, false);
+    }
+
+    /** Same as sequence, but fails as soon as the first future fails instead of waiting for all the others
+     *  The futures that are still outstanding at that point get cancelled, running suppliers get interrupted
+     *  @param futures the list of futures
+     *  @param <T> type of whatever is in the list
+     *  @return the eventual list */
+    @SafeVarargs
+    public static <T> Future<List<T>> sequenceFailFast(Future<T>... futures) {
+        return sequenceFailFast(Arrays.asList(futures));
+    }
+
+    /** Same as sequence, but fails as soon as the first future fails instead of waiting for all the others
+     *  The futures that are still outstanding at that point get cancelled, running suppliers get interrupted
+     *  @param futures the list of futures
+     *  @param <T> type of whatever is in the list
+     *  @return the eventual list */
+    public static <T> Future<List<T>> sequenceFailFast(List<Future<T>> futures) {
+        return new SequencePromise<>(futures, true);
+    }
+
+    /** Applies f to every element, but never has more than maxConcurrency of the resulting futures running at once
+     *  The next element is only pulled once one of the running futures completes, so large inputs neither flood the
+     *  executor nor get materialized up front. Fails as soon as one of the futures fails
+     *  @param source the elements
+     *  @param f turns an element into a future
+     *  @param maxConcurrency how many futures may run at the same time
+     *  @param <A> type of the elements
+     *  @param <B> type of the results
+     *  @return the eventual results, in the order of the source */
+    public static <A, B> Future<List<B>> traverse(Iterable<A> source, Function<A, Future<B>> f, int maxConcurrency) {
+        return new TraversePromise<>(source.iterator(), f, maxConcurrency);
+    }
+
+    /** Same as traverse over an iterable, pulls from the stream lazily and closes it once the result is done,
+     *  failed or cancelled - so streams over files or cursors don't leak
+     *  @param source the elements
+     *  @param f turns an element into a future
+     *  @param maxConcurrency how many futures may run at the same time
+     *  @param <A> type of the elements
+     *  @param <B> type of the results
+     *  @return the eventual results, in the order of the source */
+    public static <A, B> Future<List<B>> traverse(Stream<A> source, Function<A, Future<B>> f, int maxConcurrency) {
+        return new TraversePromise<>(source.iterator(), f, maxConcurrency, source::close);
+    }
+
+    /** Tries again while the attempt fails and the policy allows another one
+     *  The delays in between are kept by the timer thread shared by all futures, so no thread sleeps through them
+     *  @param attempt starts one attempt
+     *  @param policy how often and how far apart to try
+     *  @param <T> type of the result
+     *  @return the first success, or the last failure once the policy gives up */
+    public static <T> Future<T> retry(Supplier<Future<T>> attempt, RetryPolicy policy) {
+        return new RetryPromise<>(attempt, policy);
+    }
+}
@@ -0,0 +1,208 @@
+package org.brudergrimm.jmonad.future;
+
+import org.brudergrimm.jmonad.tried.Success;
+import org.brudergrimm.jmonad.tried.Try;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/** Collects single loads and hands them to a bulk loader together, so a thousand load(id) calls end up as a
+ *  handful of queries. A batch goes out once it holds maxBatchSize distinct keys or maxDelay after its first key
+ *  came in, whichever happens first. Asking for a key twice in the same batch loads it once
+ *
+ *  <pre>{@code
+ *  FutureBatcher<UserId, User> users = FutureBatcher.apply(repository::loadAll, 100, Duration.ofMillis(2));
+ *  Future<User> user = users.load(id);
+ *  }</pre>
+ *
+ *  Keys the bulk loader leaves out of its result fail with a NoSuchElementException, if the whole bulk load fails
+ *  every key of that batch fails with it
+ *  @param <K> type of the keys
+ *  @param <V> type of the values */
+public final class FutureBatcher<K, V> {
+    private final Function<List<K>, Future<Map<K, Try<V>>>> batchLoader;
+    private final int maxBatchSize;
+    private final Duration maxDelay;
+    private final Executor executor;
+
+    private final Object lock = new Object();
+    private Batch<K, V> current; // guarded by lock
+
+    private FutureBatcher(Function<List<K>, Future<Map<K, Try<V>>>> batchLoader, int maxBatchSize,
+                          Duration maxDelay, Executor executor) {
+        if (maxBatchSize < 1) throw new IllegalArgumentException("maxBatchSize must be at least 1, was " + maxBatchSize);
+        if (maxDelay.isNegative()) throw new IllegalArgumentException("maxDelay must not be negative");
+
+        this.batchLoader = batchLoader;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelay = maxDelay;
+        this.executor = executor;
+    }
+
+    /** @param batchLoader loads all keys of a batch at once, each key is in there only once
+     *  @param maxBatchSize how many keys to collect at most before sending a batch
+     *  @param maxDelay how long to wait for more keys at most
+     *  @param executor runs the batch loader
+     *  @param <K> type of the keys
+     *  @param <V> type of the values
+     *  @return a batcher without any pending keys */
+    public static <K, V> FutureBatcher<K, V> apply(Function<List<K>, Future<Map<K, V>>> batchLoader, int maxBatchSize,
+                                                   Duration maxDelay, Executor executor) {
+        return applyTried(keys -> batchLoader.apply(keys).map(FutureBatcher::succeeded), maxBatchSize, maxDelay, executor);
+    }
+
+    /** Same as apply with an executor, runs the batch loader on the default executor */
+    public static <K, V> FutureBatcher<K, V> apply(Function<List<K>, Future<Map<K, V>>> batchLoader, int maxBatchSize,
+                                                   Duration maxDelay) {
+        return apply(batchLoader, maxBatchSize, maxDelay, Future.defaultExecutor());
+    }
+
+    /** Same as apply, but the batch loader can fail single keys by mapping them to a Failure
+     *  @param batchLoader loads all keys of a batch at once, each key is in there only once
+     *  @param maxBatchSize how many keys to collect at most before sending a batch
+     *  @param maxDelay how long to wait for more keys at most
+     *  @param executor runs the batch loader
+     *  @param <K> type of the keys
+     *  @param <V> type of the values
+     *  @return a batcher without any pending keys */
+    public static <K, V> FutureBatcher<K, V> applyTried(Function<List<K>, Future<Map<K, Try<V>>>> batchLoader,
+                                                        int maxBatchSize, Duration maxDelay, Executor executor) {
+        return new FutureBatcher<>(batchLoader, maxBatchSize, maxDelay, executor);
+    }
+
+    /** @param key the key
+     *  @return the value for key, once the batch it ended up in is loaded */
+    public Future<V> load(K key) {
+        CompletableFuture<V> loaded;
+        Batch<K, V> full = null;
+
+        synchronized (lock) {
+            if (current == null) current = schedule(new Batch<>());
+
+            loaded = current.waiting.get(key);
+            if (loaded == null) {
+                loaded = new CompletableFuture<>();
+                current.waiting.put(key, loaded);
+            }
+
+            if (current.waiting.size() >= maxBatchSize) {
+                full = current;
+                current = null;
+            }
+        }
+
+        if (full != null) {
+            full.deadline.cancel();
+            send(full);
+        }
+        return Future.fromJavaFuture(loaded);
+    }
+
+    /** @param keys the keys
+     *  @return the values for all keys, in the same order */
+    public Future<List<V>> loadAll(List<K> keys) {
+        List<Future<V>> loads = new ArrayList<>(keys.size());
+        for (K key : keys) loads.add(load(key));
+        return Future.sequence(loads);
+    }
+
+    /** Sends whatever keys are waiting right away instead of waiting for the batch to fill up or time out */
+    public void dispatch() {
+        Batch<K, V> pending;
+        synchronized (lock) {
+            pending = current;
+            current = null;
+        }
+
+        if (pending != null) {
+            pending.deadline.cancel();
+            send(pending);
+        }
+    }
+
+    /* the timer only hands the batch on, it doesn't run the loader itself */
+    private Batch<K, V> schedule(Batch<K, V> batch) {
+        batch.deadline = HashedWheelTimer.shared().schedule(() -> timedOut(batch), maxDelay);
+        return batch;
+    }
+
+    private void timedOut(Batch<K, V> batch) {
+        synchronized (lock) {
+            if (current != batch) return; // went out because it was full or somebody dispatched it
+            current = null;
+        }
+        send(batch);
+    }
+
+    private void send(Batch<K, V> batch) {
+        try {
+            executor.execute(() -> run(batch));
+        }
+        catch (VirtualMachineError | ThreadDeath | LinkageError fatal) { throw fatal; }
+        catch (Exception rejected) { fail(batch, rejected); }
+    }
+
+    private void run(Batch<K, V> batch) {
+        List<K> keys = new ArrayList<>(batch.waiting.keySet());
+        Future<Map<K, Try<V>>> loaded = Try.apply(() -> batchLoader.apply(keys))
+                .fold(Failed::apply, future -> future == null ? Failed.apply(new NullPointerException("batch loader returned null")) : future);
+
+        /* whatever goes wrong in here fails the batch, nobody would ever complete the waiting futures otherwise */
+        loaded.toJavaFuture().whenComplete((values, failure) -> {
+            try {
+                if (failure != null) {
+                    fail(batch, failure);
+                } else if (values == null) {
+                    fail(batch, new NullPointerException("batch loader completed with null"));
+                } else complete(batch, values);
+            }
+            catch (VirtualMachineError | ThreadDeath | LinkageError fatal) { throw fatal; }
+            catch (Exception nonFatal) { fail(batch, nonFatal); }
+        });
+    }
+
+    private static <K, V> void complete(Batch<K, V> batch, Map<K, Try<V>> values) {
+        batch.waiting.forEach((key, waiting) -> {
+            Try<V> value = values.get(key);
+            if (value == null) {
+                waiting.completeExceptionally(new MissingKeyException(key));
+            } else value.fold(waiting::completeExceptionally, waiting::complete);
+        });
+    }
+
+    private static <K, V> void fail(Batch<K, V> batch, Throwable failure) {
+        batch.waiting.values().forEach(waiting -> waiting.completeExceptionally(failure));
+    }
+
+    private static <K, V> Map<K, Try<V>> succeeded(Map<K, V> values) {
+        Map<K, Try<V>> tried = new HashMap<>(values.size() * 4 / 3 + 1);
+        values.forEach((key, value) -> tried.put(key, Success.apply(value)));
+        return tried;
+    }
+
+    /* the stack trace would only show whoever completed the batch, so there is none, and the key only gets turned
+    into a string if someone actually reads the message */
+    private static final class MissingKeyException extends NoSuchElementException {
+        private final transient Object key;
+
+        MissingKeyException(Object key) { this.key = key; }
+
+        @Override public String getMessage() { return "Batch has no value for " + key; }
+
+        @Override public synchronized Throwable fillInStackTrace() { return this; }
+    }
+
+    /* the keys of one batch with the futures of everybody waiting for them, only mutated under the lock until sent */
+    private static final class Batch<K, V> {
+        final Map<K, CompletableFuture<V>> waiting = new LinkedHashMap<>();
+        HashedWheelTimer.Timeout deadline;
+    }
+}
@@ -0,0 +1,24 @@
+package org.brudergrimm.jmonad.future;
+
+import org.brudergrimm.jmonad.future.FutureMetrics.Stage;
+
+import java.util.concurrent.CompletableFuture;
+
+/* Flight recorder hooks for futures. There is no jdk.jfr before java 11, so this does nothing - the multi release jar
+replaces it with one that records events on 11+, see src/main/java11
+The Objects handed out by the begin methods are the events on 11+, here they are always null */
+final class FutureEvents {
+    private FutureEvents() { }
+
+    static boolean stagesEnabled() { return false; }
+
+    static Object stageBegin(Stage stage, long queuedNanos) { return null; }
+
+    static void stageEnd(Object begun, boolean failed) { }
+
+    static void sequence(CompletableFuture<?> aggregate, int size, boolean failFast) { }
+
+    static Object awaitBegin() { return null; }
+
+    static void awaitEnd(Object begun, boolean completed) { }
+}
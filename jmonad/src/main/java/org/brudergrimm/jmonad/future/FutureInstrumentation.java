@@ -0,0 +1,83 @@
+package org.brudergrimm.jmonad.future;
+
+import org.brudergrimm.jmonad.future.FutureMetrics.Stage;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/* Wraps the work of a stage so the installed FutureMetrics and the flight recorder get told about it
+While no metrics are installed and nobody records stage events, everything is handed back as it is
+A stage is only reported once its work starts - one whose upstream failed or that got cancelled before it started
+never runs, so it would never be reported as finished either and stay in flight forever */
+final class FutureInstrumentation {
+    private FutureInstrumentation() { }
+
+    static <T> Supplier<T> supplier(Stage stage, Supplier<T> body) {
+        FutureMetrics metrics = Future.metrics();
+        if (metrics == FutureMetrics.NONE && !FutureEvents.stagesEnabled()) return body;
+
+        long created = System.nanoTime();
+        return () -> run(metrics, stage, created, body);
+    }
+
+    static <T, R> Function<T, R> function(Stage stage, Function<T, R> body) {
+        FutureMetrics metrics = Future.metrics();
+        if (metrics == FutureMetrics.NONE && !FutureEvents.stagesEnabled()) return body;
+
+        long created = System.nanoTime();
+        return value -> run(metrics, stage, created, () -> body.apply(value));
+    }
+
+    private static <T> T run(FutureMetrics metrics, Stage stage, long created, Supplier<T> body) {
+        long started = System.nanoTime();
+        metrics.onCreate(stage);
+        metrics.onStart(stage, started - created);
+        Object event = FutureEvents.stageBegin(stage, started - created);
+        T result;
+        try {
+            result = body.get();
+        } catch (RuntimeException | Error failure) {
+            metrics.onFail(stage, System.nanoTime() - started, failure);
+            FutureEvents.stageEnd(event, true);
+            throw failure;
+        }
+        metrics.onComplete(stage, System.nanoTime() - started);
+        FutureEvents.stageEnd(event, false);
+        return result;
+    }
+
+    /* for futures that are born completed, there is nothing to wait for and nothing to run */
+    static void completed(Stage stage) {
+        FutureMetrics metrics = Future.metrics();
+        if (metrics == FutureMetrics.NONE) return;
+
+        metrics.onCreate(stage);
+        metrics.onStart(stage, 0);
+        metrics.onComplete(stage, 0);
+    }
+
+    static void failed(Stage stage, Throwable failure) {
+        FutureMetrics metrics = Future.metrics();
+        if (metrics == FutureMetrics.NONE) return;
+
+        metrics.onCreate(stage);
+        metrics.onStart(stage, 0);
+        metrics.onFail(stage, 0, failure);
+    }
+
+    /* for futures that collect others, they start right away and run until the last of them is in */
+    static void aggregate(Stage stage, CompletableFuture<?> aggregate) {
+        FutureMetrics metrics = Future.metrics();
+        if (metrics == FutureMetrics.NONE) return;
+
+        metrics.onCreate(stage);
+        metrics.onStart(stage, 0);
+        long started = System.nanoTime();
+        aggregate.whenComplete((value, failure) -> {
+            if (failure != null) {
+                metrics.onFail(stage, System.nanoTime() - started, failure);
+            } else metrics.onComplete(stage, System.nanoTime() - started);
+        });
+    }
+}
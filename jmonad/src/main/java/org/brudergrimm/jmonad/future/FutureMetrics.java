@@ -0,0 +1,33 @@
+package org.brudergrimm.jmonad.future;
+
+/** Gets told about every stage of every future, install one with Future.setMetrics
+ *  Callbacks run on whatever thread the stage runs on, right before and after it, so they should be quick and must
+ *  not throw. FutureStatistics is a ready made implementation that counts and keeps latency histograms per stage.
+ *  Nothing is reported while NONE is installed, which is the default, and then the futures don't pay for it either */
+public interface FutureMetrics {
+    enum Stage { APPLY, MAP, FLAT_MAP, SEQUENCE, TRAVERSE, SUCCESSFUL, FAILED }
+
+    /** Installed by default, ignores everything */
+    FutureMetrics NONE = new FutureMetrics() { };
+
+    /** A stage is about to start working, right before onStart. Stages that never run because the one before them
+     *  failed or they got cancelled first aren't reported at all
+     *  @param stage what kind of stage */
+    default void onCreate(Stage stage) { }
+
+    /** A stage starts working
+     *  @param stage what kind of stage
+     *  @param queuedNanos how long it took from creating the stage until now */
+    default void onStart(Stage stage, long queuedNanos) { }
+
+    /** A stage finished with a value
+     *  @param stage what kind of stage
+     *  @param runNanos how long it was working */
+    default void onComplete(Stage stage, long runNanos) { }
+
+    /** A stage finished with an exception
+     *  @param stage what kind of stage
+     *  @param runNanos how long it was working
+     *  @param failure what went wrong */
+    default void onFail(Stage stage, long runNanos, Throwable failure) { }
+}
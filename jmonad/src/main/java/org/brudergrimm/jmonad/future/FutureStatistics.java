@@ -0,0 +1,98 @@
+package org.brudergrimm.jmonad.future;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/** FutureMetrics that count stages and keep histograms of how long they wait and run, all without locking
+ *
+ *  <pre>{@code
+ *  FutureStatistics statistics = FutureStatistics.apply();
+ *  Future.setMetrics(statistics);
+ *  ...
+ *  FutureStatistics.StageStatistics maps = statistics.stage(FutureMetrics.Stage.MAP);
+ *  log.info("map: {} in flight, p99 queued {}us", maps.inFlight(), maps.queued().percentile(99, TimeUnit.MICROSECONDS));
+ *  }</pre>
+ *
+ *  A stage that waits long in the queue but runs quickly points at a saturated executor */
+public final class FutureStatistics implements FutureMetrics {
+    private final Map<Stage, StageStatistics> stages = new EnumMap<>(Stage.class);
+
+    private FutureStatistics() {
+        for (Stage stage : Stage.values()) stages.put(stage, new StageStatistics());
+    }
+
+    public static FutureStatistics apply() {
+        return new FutureStatistics();
+    }
+
+    /** @param stage what kind of stage
+     *  @return the live numbers for it, they keep changing while you read them */
+    public StageStatistics stage(Stage stage) {
+        return stages.get(stage);
+    }
+
+    @Override public void onCreate(Stage stage) {
+        stages.get(stage).created.increment();
+    }
+
+    @Override public void onStart(Stage stage, long queuedNanos) {
+        StageStatistics statistics = stages.get(stage);
+        statistics.started.increment();
+        statistics.queued.record(queuedNanos);
+    }
+
+    @Override public void onComplete(Stage stage, long runNanos) {
+        StageStatistics statistics = stages.get(stage);
+        statistics.completed.increment();
+        statistics.running.record(runNanos);
+    }
+
+    @Override public void onFail(Stage stage, long runNanos, Throwable failure) {
+        StageStatistics statistics = stages.get(stage);
+        statistics.failed.increment();
+        statistics.running.record(runNanos);
+    }
+
+    @Override public String toString() {
+        StringBuilder builder = new StringBuilder("FutureStatistics(");
+        for (Map.Entry<Stage, StageStatistics> entry : stages.entrySet()) {
+            if (entry.getValue().created() == 0) continue;
+            if (builder.charAt(builder.length() - 1) != '(') builder.append(", ");
+            builder.append(entry.getKey()).append('=').append(entry.getValue());
+        }
+        return builder.append(')').toString();
+    }
+
+    public static final class StageStatistics {
+        private final LongAdder created = new LongAdder();
+        private final LongAdder started = new LongAdder();
+        private final LongAdder completed = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LatencyHistogram queued = new LatencyHistogram();
+        private final LatencyHistogram running = new LatencyHistogram();
+
+        private StageStatistics() { }
+
+        public long created() { return created.sum(); }
+        public long started() { return started.sum(); }
+        public long completed() { return completed.sum(); }
+        public long failed() { return failed.sum(); }
+
+        /** @return stages that started but haven't finished yet */
+        public long inFlight() { return created() - completed() - failed(); }
+
+        /** @return how long stages waited between creation and start */
+        public LatencyHistogram queued() { return queued; }
+
+        /** @return how long stages ran, successful or not */
+        public LatencyHistogram running() { return running; }
+
+        @Override public String toString() {
+            return String.format("[created %d, failed %d, in flight %d, p99 queued %dus, p99 running %dus]",
+                    created(), failed(), inFlight(),
+                    queued.percentile(99, TimeUnit.MICROSECONDS), running.percentile(99, TimeUnit.MICROSECONDS));
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package org.brudergrimm.jmonad.future;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/* One daemon thread that runs scheduled tasks, so timeouts don't cost a parked thread each
+Timeouts are hashed into a ring of buckets by their deadline, every tick the worker expires whatever is due in the
+current bucket. Scheduling and cancelling only touch lock free queues, the buckets themselves belong to the worker
+The worker parks for good while nothing is scheduled, expired tasks run on it so they have to be cheap */
+final class HashedWheelTimer {
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final int WHEEL_SIZE = 1024; // a power of two, so we can mask instead of mod
+    private static final int MASK = WHEEL_SIZE - 1;
+
+    private static final HashedWheelTimer shared = new HashedWheelTimer("jmonad-timer");
+
+    private final String name;
+    private final Bucket[] wheel = new Bucket[WHEEL_SIZE];
+    private final Queue<Timeout> scheduled = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final long startTime = System.nanoTime();
+    private volatile Thread worker;
+
+    private HashedWheelTimer(String name) {
+        this.name = name;
+        for (int i = 0; i < WHEEL_SIZE; i++) wheel[i] = new Bucket();
+    }
+
+    static HashedWheelTimer shared() {
+        return shared;
+    }
+
+    /* runs the task on the timer thread once the delay is up, unless it gets cancelled before */
+    Timeout schedule(Runnable task, Duration delay) {
+        long deadline = System.nanoTime() - startTime + Math.max(0, saturatedNanos(delay));
+        Timeout timeout = new Timeout(this, task, deadline < 0 ? Long.MAX_VALUE : deadline);
+
+        pending.incrementAndGet();
+        scheduled.offer(timeout);
+        start();
+        LockSupport.unpark(worker);
+        return timeout;
+    }
+
+    private static long saturatedNanos(Duration delay) {
+        try {
+            return delay.toNanos();
+        } catch (ArithmeticException tooLong) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private void start() {
+        if (started.get() || !started.compareAndSet(false, true)) return;
+
+        Thread thread = new Thread(this::run, name);
+        thread.setDaemon(true);
+        worker = thread;
+        thread.start();
+    }
+
+    private void run() {
+        long tick = 0;
+        while (true) {
+            if (pending.get() == 0) {
+                removeCancelled(); // let go of whatever got cancelled before we go to sleep
+                LockSupport.park(this); // schedule unparks us, so we can't miss anything here
+                tick = Math.max(tick, (System.nanoTime() - startTime) / TICK_NANOS); // nothing was due while idle
+                continue;
+            }
+
+            long sleep = TICK_NANOS * (tick + 1) - (System.nanoTime() - startTime);
+            if (sleep > 0) {
+                LockSupport.parkNanos(this, sleep);
+                continue;
+            }
+
+            removeCancelled();
+            transferScheduled(tick);
+            wheel[(int) (tick & MASK)].expire(tick);
+            tick++;
+        }
+    }
+
+    private void removeCancelled() {
+        Timeout timeout;
+        while ((timeout = cancelled.poll()) != null) {
+            if (timeout.bucket != null) timeout.bucket.remove(timeout);
+        }
+    }
+
+    private void transferScheduled(long tick) {
+        Timeout timeout;
+        while ((timeout = scheduled.poll()) != null) {
+            if (timeout.state.get() != Timeout.WAITING) continue; // cancelled before it made it into the wheel
+
+            long due = timeout.deadline / TICK_NANOS;
+            timeout.remainingRounds = (due - tick) / WHEEL_SIZE;
+            wheel[(int) (Math.max(due, tick) & MASK)].add(timeout);
+        }
+    }
+
+    static final class Timeout {
+        private static final int WAITING = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final HashedWheelTimer timer;
+        private final Runnable task;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+
+        /* only touched by the worker */
+        private long remainingRounds;
+        private Bucket bucket;
+        private Timeout next;
+        private Timeout previous;
+
+        private Timeout(HashedWheelTimer timer, Runnable task, long deadline) {
+            this.timer = timer;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /* @return false if the task already ran or got cancelled before */
+        boolean cancel() {
+            if (!state.compareAndSet(WAITING, CANCELLED)) return false;
+
+            timer.pending.decrementAndGet();
+            timer.cancelled.offer(this);
+            return true;
+        }
+
+        private void expire() {
+            if (!state.compareAndSet(WAITING, EXPIRED)) return;
+
+            timer.pending.decrementAndGet();
+            try {
+                task.run();
+            } catch (Throwable ignored) { } // a misbehaving task must not take the timer down with it
+        }
+    }
+
+    /* a doubly linked list of timeouts, only ever touched by the worker */
+    private static final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.previous = tail;
+                tail = timeout;
+            }
+        }
+
+        void expire(long tick) {
+            Timeout timeout = head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.remainingRounds <= 0 && timeout.deadline / TICK_NANOS <= tick) {
+                    remove(timeout);
+                    timeout.expire();
+                } else if (timeout.state.get() == Timeout.CANCELLED) {
+                    remove(timeout);
+                } else timeout.remainingRounds--;
+                timeout = next;
+            }
+        }
+
+        void remove(Timeout timeout) {
+            if (timeout.bucket != this) return;
+
+            if (timeout.previous != null) {
+                timeout.previous.next = timeout.next;
+            } else head = timeout.next;
+
+            if (timeout.next != null) {
+                timeout.next.previous = timeout.previous;
+            } else tail = timeout.previous;
+
+            timeout.next = null;
+            timeout.previous = null;
+            timeout.bucket = null;
+        }
+    }
+}
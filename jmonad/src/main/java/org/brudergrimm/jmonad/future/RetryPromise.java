@@ -0,0 +1,82 @@
+package org.brudergrimm.jmonad.future;
+
+import org.brudergrimm.jmonad.option.Option;
+import org.brudergrimm.jmonad.tried.RetryPolicy;
+import org.brudergrimm.jmonad.tried.Try;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/** A future of the first attempt that succeeds, or of the last failure once the policy gives up
+ *  Nobody sleeps between attempts, the shared timer hands the next one to the default executor once its delay is up
+ *  Only ever one attempt runs at a time, the next one is only scheduled once the previous one failed
+ *  Cancelling this future cancels the running attempt and doesn't start any further ones
+ *  @param <T> type of the result */
+public class RetryPromise<T> extends DefaultPromise<T> {
+    private final CompletableFuture<T> result;
+    private final Supplier<Future<T>> attempt;
+    private final RetryPolicy policy;
+    private final long start = System.nanoTime();
+
+    private int attempts; // each attempt happens after the previous one failed, so they never race on this
+    private volatile Future<T> running;
+    private volatile HashedWheelTimer.Timeout scheduled;
+
+    RetryPromise(Supplier<Future<T>> attempt, RetryPolicy policy) {
+        this(new CompletableFuture<>(), attempt, policy);
+    }
+
+    private RetryPromise(CompletableFuture<T> result, Supplier<Future<T>> attempt, RetryPolicy policy) {
+        super(result);
+        this.result = result;
+        this.attempt = attempt;
+        this.policy = policy;
+        run();
+    }
+
+    private void run() {
+        if (result.isDone()) return;
+
+        attempts++;
+        Future<T> next = Try.apply(attempt).fold(Failed::apply, Function.identity());
+        running = next;
+        if (result.isDone()) next.cancel(true); // got cancelled while we were starting it
+
+        next.toJavaFuture().whenComplete((value, throwable) -> {
+            if (throwable == null) {
+                result.complete(value);
+                return;
+            }
+
+            Throwable failure = throwable instanceof CompletionException && throwable.getCause() != null
+                    ? throwable.getCause()
+                    : throwable;
+            Option<Duration> delay = policy.nextDelay(failure, attempts, Duration.ofNanos(System.nanoTime() - start));
+            if (delay.isEmpty() || result.isDone()) {
+                result.completeExceptionally(failure);
+            } else scheduled = HashedWheelTimer.shared().schedule(this::resume, delay.get());
+        });
+    }
+
+    /* runs on the timer thread, which mustn't run the attempt itself */
+    private void resume() {
+        try {
+            defaultExecutor().execute(this::run);
+        }
+        catch (VirtualMachineError | ThreadDeath | LinkageError fatal) { throw fatal; }
+        catch (Exception rejected) { result.completeExceptionally(rejected); }
+    }
+
+    @Override public boolean cancel(boolean mayInterrupt) {
+        if (!super.cancel(mayInterrupt)) return false;
+
+        HashedWheelTimer.Timeout waiting = scheduled;
+        if (waiting != null) waiting.cancel();
+        Future<T> current = running;
+        if (current != null) current.cancel(mayInterrupt);
+        return true;
+    }
+}
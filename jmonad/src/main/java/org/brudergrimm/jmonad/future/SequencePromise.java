@@ -0,0 +1,80 @@
+package org.brudergrimm.jmonad.future;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/** A future of all results of a list of futures
+ *  Every child writes its result into its own slot once it completes, the last one to finish completes this future
+ *  with all of them - nothing blocks, nothing gets collected more than once
+ *  If it fails fast, the first failing child fails this future right away and cancels all of its siblings, the ones
+ *  that are already running get interrupted
+ *  Cancelling this future cancels all children that are still outstanding
+ *  @param <T> type of the children */
+public class SequencePromise<T> extends DefaultPromise<List<T>> {
+    private final List<Future<T>> futures;
+    private final CompletableFuture<T>[] children;
+    private final boolean failFast;
+
+    SequencePromise(List<Future<T>> futures, boolean failFast) {
+        this(new CompletableFuture<>(), futures, failFast);
+    }
+
+    private SequencePromise(CompletableFuture<List<T>> aggregate, List<Future<T>> futures, boolean failFast) {
+        super(aggregate);
+        @SuppressWarnings("unchecked") CompletableFuture<T>[] children = futures.stream()
+                .map(Future::toJavaFuture)
+                .toArray(CompletableFuture[]::new);
+        this.futures = futures;
+        this.children = children;
+        this.failFast = failFast;
+        FutureInstrumentation.aggregate(FutureMetrics.Stage.SEQUENCE, aggregate);
+        FutureEvents.sequence(aggregate, children.length, failFast);
+
+        if (children.length == 0) {
+            aggregate.complete(new ArrayList<>());
+        } else accumulate(aggregate);
+    }
+
+    private void accumulate(CompletableFuture<List<T>> aggregate) {
+        List<T> slots = new ArrayList<>(Collections.nCopies(children.length, null)); // callers get it as a plain ArrayList
+        AtomicInteger remaining = new AtomicInteger(children.length);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        for (int i = 0; i < children.length; i++) {
+            int slot = i;
+            children[i].whenComplete((value, throwable) -> {
+                if (throwable != null) {
+                    if (failure.compareAndSet(null, throwable) && failFast) {
+                        cancelChildren(true); // first, so whoever sees us fail also sees the siblings cancelled - and stopped
+                        aggregate.completeExceptionally(throwable);
+                    }
+                } else slots.set(slot, value);
+
+                /* the decrement publishes our slot, so whoever brings it down to zero sees all of them */
+                if (remaining.decrementAndGet() == 0) {
+                    Throwable failed = failure.get();
+                    if (failed != null) {
+                        aggregate.completeExceptionally(failed);
+                    } else aggregate.complete(slots);
+                }
+            });
+        }
+    }
+
+    @Override public boolean cancel(boolean mayInterrupt) {
+        if (!super.cancel(mayInterrupt)) return false;
+        cancelChildren(mayInterrupt);
+        return true;
+    }
+
+    /* children that haven't started yet won't, the rest at least won't hand their result to anyone */
+    private void cancelChildren(boolean mayInterrupt) {
+        for (Future<T> child : futures) {
+            if (!child.isCompleted()) child.cancel(mayInterrupt);
+        }
+    }
+}
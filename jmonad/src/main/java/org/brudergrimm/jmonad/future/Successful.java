@@ -1,14 +1,16 @@
 package org.brudergrimm.jmonad.future;
 
+import org.brudergrimm.jmonad.future.FutureMetrics.Stage;
 import org.brudergrimm.jmonad.option.Option;
 import org.brudergrimm.jmonad.option.Some;
 import org.brudergrimm.jmonad.tried.Failure;
+import org.brudergrimm.jmonad.tried.Failures;
 import org.brudergrimm.jmonad.tried.Success;
 import org.brudergrimm.jmonad.tried.Try;
 
 import java.time.Duration;
-import java.util.NoSuchElementException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -18,6 +20,7 @@ public class Successful<T> extends Future<T> {
 
     Successful(T result) {
         this.result = result;
+        FutureInstrumentation.completed(Stage.SUCCESSFUL);
     }
 
     public static <T> Future<T> apply(T result) {
@@ -29,11 +32,22 @@ public class Successful<T> extends Future<T> {
     }
 
     @Override public <R> Future<R> map(Function<T, R> f) {
-        return new DefaultPromise<>(() -> f.apply(result));
+        Function<T, R> stage = FutureInstrumentation.function(Stage.MAP, f);
+        return inline(result, value -> Successful.apply(stage.apply(value)), defaultExecutor());
+    }
+
+    @Override public <R> Future<R> mapOn(Function<T, R> f, Executor executor) {
+        return new DefaultPromise<>(Stage.MAP, () -> f.apply(result), executor);
     }
 
     @Override public <R> Future<R> flatMap(Function<T, Future<R>> f) {
-        return f.apply(result);
+        return inline(result, FutureInstrumentation.function(Stage.FLAT_MAP, f), defaultExecutor());
+    }
+
+    @Override public <R> Future<R> flatMapOn(Function<T, Future<R>> f, Executor executor) {
+        return DefaultPromise.composed(
+                CompletableFuture.completedFuture(result), null, FutureInstrumentation.function(Stage.FLAT_MAP, f), executor
+        );
     }
 
     @Override public Option<Try<T>> value() {
@@ -57,13 +71,25 @@ public class Successful<T> extends Future<T> {
         return true;
     }
 
+    @Override public boolean cancel(boolean mayInterrupt) {
+        return false;
+    }
+
+    @Override public boolean isCancelled() {
+        return false;
+    }
+
+    @Override public Future<T> onCancel(Runnable hook) {
+        return this;
+    }
+
     @Override public Future<T> filter(Predicate<T> predicate) {
             if (predicate.test(this.result)) {
                 return this;
-            } else return Failed.apply(new NoSuchElementException("Predicate didn't match value"));
+            } else return Failed.apply(Failures.predicateMismatch(this.result));
     }
 
     @Override public Future<Throwable> failed() {
-        return Successful.apply(new Throwable("Future didn't fail"));
+        return Successful.apply(Failures.didNotFail());
     }
 }
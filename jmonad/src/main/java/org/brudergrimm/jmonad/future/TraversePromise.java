@@ -0,0 +1,111 @@
+package org.brudergrimm.jmonad.future;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/** A future of the results of applying a function to every element of a source, with at most maxConcurrency of the
+ *  resulting futures running at any time. Whenever one of them completes the next element gets pulled
+ *  Only ever one thread pulls from the source at a time, the others just tell it that there is work to do, so
+ *  futures that complete right away can't recurse into each other
+ *  @param <A> type of the source elements
+ *  @param <B> type of the results */
+public class TraversePromise<A, B> extends DefaultPromise<List<B>> {
+    private final CompletableFuture<List<B>> aggregate;
+    private final Iterator<A> source;
+    private final Function<A, Future<B>> f;
+    private final int maxConcurrency;
+
+    private final List<B> results = new ArrayList<>(); // guarded by itself
+    private final Set<Future<B>> inFlight = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger pending = new AtomicInteger();
+    private boolean exhausted; // only touched while draining
+
+    TraversePromise(Iterator<A> source, Function<A, Future<B>> f, int maxConcurrency) {
+        this(source, f, maxConcurrency, () -> { });
+    }
+
+    /* onTerminate runs once the aggregate is done, however that happened - cancelled included */
+    TraversePromise(Iterator<A> source, Function<A, Future<B>> f, int maxConcurrency, Runnable onTerminate) {
+        this(new CompletableFuture<>(), source, f, maxConcurrency, onTerminate);
+    }
+
+    private TraversePromise(CompletableFuture<List<B>> aggregate, Iterator<A> source, Function<A, Future<B>> f,
+                            int maxConcurrency, Runnable onTerminate) {
+        super(aggregate);
+        if (maxConcurrency < 1) {
+            onTerminate.run();
+            throw new IllegalArgumentException("maxConcurrency must be at least 1, was " + maxConcurrency);
+        }
+
+        this.aggregate = aggregate;
+        this.source = source;
+        this.f = f;
+        this.maxConcurrency = maxConcurrency;
+        FutureInstrumentation.aggregate(FutureMetrics.Stage.TRAVERSE, aggregate);
+        aggregate.whenComplete((results, failure) -> onTerminate.run());
+        drain();
+    }
+
+    private void drain() {
+        if (pending.getAndIncrement() != 0) return; // someone else is draining and will pick this up
+
+        do {
+            try {
+                launch();
+            }
+            catch (VirtualMachineError | ThreadDeath | LinkageError fatal) { throw fatal; }
+            catch (Exception nonFatal) { aggregate.completeExceptionally(nonFatal); }
+        } while (pending.decrementAndGet() != 0);
+    }
+
+    private void launch() {
+        while (!aggregate.isDone() && !exhausted && running.get() < maxConcurrency) {
+            if (!source.hasNext()) {
+                exhausted = true;
+                break;
+            }
+
+            A next = source.next();
+            int slot;
+            synchronized (results) {
+                slot = results.size();
+                results.add(null);
+            }
+
+            running.incrementAndGet();
+            Future<B> launched = f.apply(next);
+            inFlight.add(launched);
+            launched.toJavaFuture().whenComplete((value, throwable) -> {
+                inFlight.remove(launched);
+                complete(slot, value, throwable);
+            });
+        }
+
+        if (exhausted && running.get() == 0 && !aggregate.isDone()) {
+            synchronized (results) { aggregate.complete(new ArrayList<>(results)); } // ours keeps getting written to
+        }
+    }
+
+    private void complete(int slot, B value, Throwable throwable) {
+        if (throwable != null) {
+            aggregate.completeExceptionally(throwable);
+        } else synchronized (results) { results.set(slot, value); }
+
+        running.decrementAndGet();
+        drain();
+    }
+
+    /* nothing new gets launched once the aggregate is done, so only the ones in flight are left */
+    @Override public boolean cancel(boolean mayInterrupt) {
+        if (!super.cancel(mayInterrupt)) return false;
+        for (Future<B> launched : inFlight) launched.cancel(mayInterrupt);
+        return true;
+    }
+}
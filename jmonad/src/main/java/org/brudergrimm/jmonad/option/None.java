@@ -1,6 +1,7 @@
 package org.brudergrimm.jmonad.option;
 
-import java.util.NoSuchElementException;
+import org.brudergrimm.jmonad.tried.Failures;
+
 import java.util.function.Consumer;
 
 public class None extends Option<Void> {
@@ -13,7 +14,7 @@ public class None extends Option<Void> {
     }
 
     @Override public boolean isEmpty() { return true; }
-    @Override public Void get() { throw new NoSuchElementException("None.get"); }
+    @Override public Void get() { throw Failures.noneGet(); }
 
     @Override public Option<Void> ifSome(Consumer<Void> consumer) { return this; }
     @Override public Option<Void> ifNone(Runnable runnable) {
@@ -8,6 +8,9 @@ import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
 /**
  * I didn't like the way javas optional handled, so I created my own
@@ -39,6 +42,27 @@ public abstract class Option<T> implements Serializable {
         return isEmpty() ? none : Option.apply(f.apply(this.get()));
     }
 
+    /** maps a function to the state value without boxing its result
+     *  @param f the function to apply to the state value
+     *  @return OptionInt of the result of f() */
+    public OptionInt mapToInt(ToIntFunction<T> f) {
+        return OptionInt.fromOption(this, f);
+    }
+
+    /** maps a function to the state value without boxing its result
+     *  @param f the function to apply to the state value
+     *  @return OptionLong of the result of f() */
+    public OptionLong mapToLong(ToLongFunction<T> f) {
+        return OptionLong.fromOption(this, f);
+    }
+
+    /** maps a function to the state value without boxing its result
+     *  @param f the function to apply to the state value
+     *  @return OptionDouble of the result of f() */
+    public OptionDouble mapToDouble(ToDoubleFunction<T> f) {
+        return OptionDouble.fromOption(this, f);
+    }
+
     /** This will take a function that returns another option and return just an option instead of an option[option]
      *  @param f the function to apply to the state value
      *  @param <R> Boxed output type of function
@@ -0,0 +1,137 @@
+package org.brudergrimm.jmonad.option;
+
+import org.brudergrimm.jmonad.tried.Failures;
+
+import java.io.Serializable;
+import java.util.OptionalDouble;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleSupplier;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+/** An Option of a primitive double, so numeric pipelines don't box on every apply and map
+ *  All empty ones are the same instance, a defined one only holds the double itself
+ *  Convert from and to Option with the mapping functions below, which don't box either */
+public final class OptionDouble implements Serializable {
+    private static final OptionDouble none = new OptionDouble(false, 0);
+
+    private final boolean defined;
+    private final double value;
+
+    private OptionDouble(boolean defined, double value) {
+        this.defined = defined;
+        this.value = value;
+    }
+
+    public static OptionDouble apply(double value) { return new OptionDouble(true, value); }
+    public static OptionDouble empty() { return none; }
+
+    /** Unboxes an Option, mapping its value to a double on the way
+     *  @param option the option to convert
+     *  @param f turns the value into a double
+     *  @param <T> the boxed type
+     *  @return OptionDouble of the result of f or empty */
+    public static <T> OptionDouble fromOption(Option<T> option, ToDoubleFunction<T> f) {
+        return option.isEmpty() ? none : apply(f.applyAsDouble(option.get()));
+    }
+
+    public static OptionDouble fromOption(Option<Double> option) {
+        return option.isEmpty() ? none : apply(option.get());
+    }
+
+    public boolean isEmpty() { return !defined; }
+    public boolean isDefined() { return defined; }
+
+    public double get() {
+        if (!defined) throw Failures.noneGet();
+        return value;
+    }
+
+    public OptionDouble ifSome(DoubleConsumer consumer) {
+        if (defined) consumer.accept(value);
+        return this;
+    }
+
+    public OptionDouble ifNone(Runnable runnable) {
+        if (!defined) runnable.run();
+        return this;
+    }
+
+    /** maps a function to the state value
+     *  @param f the function to apply to the state value
+     *  @return OptionDouble of the result of f() */
+    public OptionDouble map(DoubleUnaryOperator f) {
+        return defined ? apply(f.applyAsDouble(value)) : none;
+    }
+
+    /** This will take a function that returns another OptionDouble and return just that one
+     *  @param f the function to apply to the state value
+     *  @return the result of f() or empty */
+    public OptionDouble flatMap(DoubleFunction<OptionDouble> f) {
+        return defined ? f.apply(value) : none;
+    }
+
+    public OptionDouble filter(DoublePredicate condition) {
+        return defined && condition.test(value) ? this : none;
+    }
+
+    /** Either supplies by calling ifEmpty or applies fb to the value
+     *  @param ifEmpty function to apply if no value
+     *  @param fb function to apply to the value if present
+     *  @param <U> the return type
+     *  @return the result of either ifEmpty or fb */
+    public <U> U fold(Supplier<U> ifEmpty, DoubleFunction<U> fb) {
+        return defined ? fb.apply(value) : ifEmpty.get();
+    }
+
+    /** If there is no value, this will be returned instead
+     *  @param other the fallback
+     *  @return state or other */
+    public double getOrElse(double other) {
+        return defined ? value : other;
+    }
+
+    /** If there is no value, this supplier will be called instead
+     *  @param other the fallback-callback
+     *  @return state or the result of the callback */
+    public double orElseGet(DoubleSupplier other) {
+        return defined ? value : other.getAsDouble();
+    }
+
+    /** Converts to an Option of whatever f makes of the value, without boxing the double itself
+     *  @param f the function to apply to the state value
+     *  @param <R> output type of function
+     *  @return Option of the result of f() */
+    public <R> Option<R> mapToObj(DoubleFunction<R> f) {
+        return defined ? Option.apply(f.apply(value)) : Option.apply(null);
+    }
+
+    /** @return the boxed version of this */
+    public Option<Double> toOption() {
+        return defined ? Some.apply(value) : Option.apply(null);
+    }
+
+    /* Bridges the gap between implementations with Javas OptionalDouble */
+    public OptionalDouble toOptional() { return defined ? OptionalDouble.of(value) : OptionalDouble.empty(); }
+    public static OptionDouble fromOptional(OptionalDouble t) {
+        return t.isPresent() ? apply(t.getAsDouble()) : none;
+    }
+
+    /* there is only ever one empty instance, deserialization must not create another one */
+    private Object readResolve() { return defined ? this : none; }
+
+    @Override public boolean equals(Object other) {
+        if (!(other instanceof OptionDouble)) return false;
+        OptionDouble that = (OptionDouble) other;
+        return defined == that.defined && Double.compare(value, that.value) == 0;
+    }
+
+    @Override public int hashCode() { return defined ? Double.hashCode(value) : 0; }
+
+    @Override public String toString() {
+        return defined ? String.format("Some(%.2f)", value) : "None";
+    }
+}
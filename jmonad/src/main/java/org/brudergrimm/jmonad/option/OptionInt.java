@@ -0,0 +1,137 @@
+package org.brudergrimm.jmonad.option;
+
+import org.brudergrimm.jmonad.tried.Failures;
+
+import java.io.Serializable;
+import java.util.OptionalInt;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntSupplier;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/** An Option of a primitive int, so numeric pipelines don't box on every apply and map
+ *  All empty ones are the same instance, a defined one only holds the int itself
+ *  Convert from and to Option with the mapping functions below, which don't box either */
+public final class OptionInt implements Serializable {
+    private static final OptionInt none = new OptionInt(false, 0);
+
+    private final boolean defined;
+    private final int value;
+
+    private OptionInt(boolean defined, int value) {
+        this.defined = defined;
+        this.value = value;
+    }
+
+    public static OptionInt apply(int value) { return new OptionInt(true, value); }
+    public static OptionInt empty() { return none; }
+
+    /** Unboxes an Option, mapping its value to a int on the way
+     *  @param option the option to convert
+     *  @param f turns the value into a int
+     *  @param <T> the boxed type
+     *  @return OptionInt of the result of f or empty */
+    public static <T> OptionInt fromOption(Option<T> option, ToIntFunction<T> f) {
+        return option.isEmpty() ? none : apply(f.applyAsInt(option.get()));
+    }
+
+    public static OptionInt fromOption(Option<Integer> option) {
+        return option.isEmpty() ? none : apply(option.get());
+    }
+
+    public boolean isEmpty() { return !defined; }
+    public boolean isDefined() { return defined; }
+
+    public int get() {
+        if (!defined) throw Failures.noneGet();
+        return value;
+    }
+
+    public OptionInt ifSome(IntConsumer consumer) {
+        if (defined) consumer.accept(value);
+        return this;
+    }
+
+    public OptionInt ifNone(Runnable runnable) {
+        if (!defined) runnable.run();
+        return this;
+    }
+
+    /** maps a function to the state value
+     *  @param f the function to apply to the state value
+     *  @return OptionInt of the result of f() */
+    public OptionInt map(IntUnaryOperator f) {
+        return defined ? apply(f.applyAsInt(value)) : none;
+    }
+
+    /** This will take a function that returns another OptionInt and return just that one
+     *  @param f the function to apply to the state value
+     *  @return the result of f() or empty */
+    public OptionInt flatMap(IntFunction<OptionInt> f) {
+        return defined ? f.apply(value) : none;
+    }
+
+    public OptionInt filter(IntPredicate condition) {
+        return defined && condition.test(value) ? this : none;
+    }
+
+    /** Either supplies by calling ifEmpty or applies fb to the value
+     *  @param ifEmpty function to apply if no value
+     *  @param fb function to apply to the value if present
+     *  @param <U> the return type
+     *  @return the result of either ifEmpty or fb */
+    public <U> U fold(Supplier<U> ifEmpty, IntFunction<U> fb) {
+        return defined ? fb.apply(value) : ifEmpty.get();
+    }
+
+    /** If there is no value, this will be returned instead
+     *  @param other the fallback
+     *  @return state or other */
+    public int getOrElse(int other) {
+        return defined ? value : other;
+    }
+
+    /** If there is no value, this supplier will be called instead
+     *  @param other the fallback-callback
+     *  @return state or the result of the callback */
+    public int orElseGet(IntSupplier other) {
+        return defined ? value : other.getAsInt();
+    }
+
+    /** Converts to an Option of whatever f makes of the value, without boxing the int itself
+     *  @param f the function to apply to the state value
+     *  @param <R> output type of function
+     *  @return Option of the result of f() */
+    public <R> Option<R> mapToObj(IntFunction<R> f) {
+        return defined ? Option.apply(f.apply(value)) : Option.apply(null);
+    }
+
+    /** @return the boxed version of this */
+    public Option<Integer> toOption() {
+        return defined ? Some.apply(value) : Option.apply(null);
+    }
+
+    /* Bridges the gap between implementations with Javas OptionalInt */
+    public OptionalInt toOptional() { return defined ? OptionalInt.of(value) : OptionalInt.empty(); }
+    public static OptionInt fromOptional(OptionalInt t) {
+        return t.isPresent() ? apply(t.getAsInt()) : none;
+    }
+
+    /* there is only ever one empty instance, deserialization must not create another one */
+    private Object readResolve() { return defined ? this : none; }
+
+    @Override public boolean equals(Object other) {
+        if (!(other instanceof OptionInt)) return false;
+        OptionInt that = (OptionInt) other;
+        return defined == that.defined && Integer.compare(value, that.value) == 0;
+    }
+
+    @Override public int hashCode() { return defined ? Integer.hashCode(value) : 0; }
+
+    @Override public String toString() {
+        return defined ? String.format("Some(%d)", value) : "None";
+    }
+}
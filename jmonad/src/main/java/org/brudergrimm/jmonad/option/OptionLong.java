@@ -0,0 +1,137 @@
+package org.brudergrimm.jmonad.option;
+
+import org.brudergrimm.jmonad.tried.Failures;
+
+import java.io.Serializable;
+import java.util.OptionalLong;
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.function.LongSupplier;
+import java.util.function.LongUnaryOperator;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/** An Option of a primitive long, so numeric pipelines don't box on every apply and map
+ *  All empty ones are the same instance, a defined one only holds the long itself
+ *  Convert from and to Option with the mapping functions below, which don't box either */
+public final class OptionLong implements Serializable {
+    private static final OptionLong none = new OptionLong(false, 0);
+
+    private final boolean defined;
+    private final long value;
+
+    private OptionLong(boolean defined, long value) {
+        this.defined = defined;
+        this.value = value;
+    }
+
+    public static OptionLong apply(long value) { return new OptionLong(true, value); }
+    public static OptionLong empty() { return none; }
+
+    /** Unboxes an Option, mapping its value to a long on the way
+     *  @param option the option to convert
+     *  @param f turns the value into a long
+     *  @param <T> the boxed type
+     *  @return OptionLong of the result of f or empty */
+    public static <T> OptionLong fromOption(Option<T> option, ToLongFunction<T> f) {
+        return option.isEmpty() ? none : apply(f.applyAsLong(option.get()));
+    }
+
+    public static OptionLong fromOption(Option<Long> option) {
+        return option.isEmpty() ? none : apply(option.get());
+    }
+
+    public boolean isEmpty() { return !defined; }
+    public boolean isDefined() { return defined; }
+
+    public long get() {
+        if (!defined) throw Failures.noneGet();
+        return value;
+    }
+
+    public OptionLong ifSome(LongConsumer consumer) {
+        if (defined) consumer.accept(value);
+        return this;
+    }
+
+    public OptionLong ifNone(Runnable runnable) {
+        if (!defined) runnable.run();
+        return this;
+    }
+
+    /** maps a function to the state value
+     *  @param f the function to apply to the state value
+     *  @return OptionLong of the result of f() */
+    public OptionLong map(LongUnaryOperator f) {
+        return defined ? apply(f.applyAsLong(value)) : none;
+    }
+
+    /** This will take a function that returns another OptionLong and return just that one
+     *  @param f the function to apply to the state value
+     *  @return the result of f() or empty */
+    public OptionLong flatMap(LongFunction<OptionLong> f) {
+        return defined ? f.apply(value) : none;
+    }
+
+    public OptionLong filter(LongPredicate condition) {
+        return defined && condition.test(value) ? this : none;
+    }
+
+    /** Either supplies by calling ifEmpty or applies fb to the value
+     *  @param ifEmpty function to apply if no value
+     *  @param fb function to apply to the value if present
+     *  @param <U> the return type
+     *  @return the result of either ifEmpty or fb */
+    public <U> U fold(Supplier<U> ifEmpty, LongFunction<U> fb) {
+        return defined ? fb.apply(value) : ifEmpty.get();
+    }
+
+    /** If there is no value, this will be returned instead
+     *  @param other the fallback
+     *  @return state or other */
+    public long getOrElse(long other) {
+        return defined ? value : other;
+    }
+
+    /** If there is no value, this supplier will be called instead
+     *  @param other the fallback-callback
+     *  @return state or the result of the callback */
+    public long orElseGet(LongSupplier other) {
+        return defined ? value : other.getAsLong();
+    }
+
+    /** Converts to an Option of whatever f makes of the value, without boxing the long itself
+     *  @param f the function to apply to the state value
+     *  @param <R> output type of function
+     *  @return Option of the result of f() */
+    public <R> Option<R> mapToObj(LongFunction<R> f) {
+        return defined ? Option.apply(f.apply(value)) : Option.apply(null);
+    }
+
+    /** @return the boxed version of this */
+    public Option<Long> toOption() {
+        return defined ? Some.apply(value) : Option.apply(null);
+    }
+
+    /* Bridges the gap between implementations with Javas OptionalLong */
+    public OptionalLong toOptional() { return defined ? OptionalLong.of(value) : OptionalLong.empty(); }
+    public static OptionLong fromOptional(OptionalLong t) {
+        return t.isPresent() ? apply(t.getAsLong()) : none;
+    }
+
+    /* there is only ever one empty instance, deserialization must not create another one */
+    private Object readResolve() { return defined ? this : none; }
+
+    @Override public boolean equals(Object other) {
+        if (!(other instanceof OptionLong)) return false;
+        OptionLong that = (OptionLong) other;
+        return defined == that.defined && Long.compare(value, that.value) == 0;
+    }
+
+    @Override public int hashCode() { return defined ? Long.hashCode(value) : 0; }
+
+    @Override public String toString() {
+        return defined ? String.format("Some(%d)", value) : "None";
+    }
+}
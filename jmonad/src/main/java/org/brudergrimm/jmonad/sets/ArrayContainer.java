@@ -0,0 +1,108 @@
+package org.brudergrimm.jmonad.sets;
+
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+
+/* Up to 4096 values as a sorted array, 2 bytes each */
+final class ArrayContainer extends Container {
+    private final char[] values;
+
+    ArrayContainer(char[] values) {
+        this.values = values;
+    }
+
+    @Override int cardinality() {
+        return values.length;
+    }
+
+    @Override boolean contains(char low) {
+        return Arrays.binarySearch(values, low) >= 0;
+    }
+
+    @Override int runCount() {
+        int runs = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (i == 0 || values[i] != values[i - 1] + 1) runs++;
+        }
+        return runs;
+    }
+
+    @Override char[] toArray() {
+        return values;
+    }
+
+    @Override PrimitiveIterator.OfInt iterator(int base) {
+        return new PrimitiveIterator.OfInt() {
+            private int index;
+
+            @Override public boolean hasNext() {
+                return index < values.length;
+            }
+
+            @Override public int nextInt() {
+                return base | values[index++];
+            }
+        };
+    }
+
+    Container retain(Container other) {
+        if (other instanceof ArrayContainer) {
+            char[] those = ((ArrayContainer) other).values;
+            char[] result = new char[Math.min(values.length, those.length)];
+            int i = 0, j = 0, count = 0;
+            while (i < values.length && j < those.length) {
+                if (values[i] < those[j]) i++;
+                else if (values[i] > those[j]) j++;
+                else {
+                    result[count++] = values[i++];
+                    j++;
+                }
+            }
+            return new ArrayContainer(Arrays.copyOf(result, count));
+        }
+        return filter(other, true);
+    }
+
+    Container remove(Container other) {
+        return filter(other, false);
+    }
+
+    Container or(ArrayContainer other) {
+        char[] those = other.values;
+        char[] result = new char[values.length + those.length];
+        int i = 0, j = 0, count = 0;
+        while (i < values.length || j < those.length) {
+            if (j == those.length || (i < values.length && values[i] < those[j])) result[count++] = values[i++];
+            else if (i == values.length || values[i] > those[j]) result[count++] = those[j++];
+            else {
+                result[count++] = values[i++];
+                j++;
+            }
+        }
+        return new ArrayContainer(Arrays.copyOf(result, count));
+    }
+
+    Container xor(ArrayContainer other) {
+        char[] those = other.values;
+        char[] result = new char[values.length + those.length];
+        int i = 0, j = 0, count = 0;
+        while (i < values.length || j < those.length) {
+            if (j == those.length || (i < values.length && values[i] < those[j])) result[count++] = values[i++];
+            else if (i == values.length || values[i] > those[j]) result[count++] = those[j++];
+            else {
+                i++;
+                j++;
+            }
+        }
+        return new ArrayContainer(Arrays.copyOf(result, count));
+    }
+
+    private Container filter(Container other, boolean keepContained) {
+        char[] result = new char[values.length];
+        int count = 0;
+        for (char value : values) {
+            if (other.contains(value) == keepContained) result[count++] = value;
+        }
+        return new ArrayContainer(count == values.length ? values : Arrays.copyOf(result, count));
+    }
+}
@@ -0,0 +1,125 @@
+package org.brudergrimm.jmonad.sets;
+
+import java.util.PrimitiveIterator;
+
+/* One bit for each of the 65536 possible values, operations work on 64 of them at a time */
+final class BitmapContainer extends Container {
+    static final int WORDS = 1024;
+
+    private final long[] words;
+    private final int cardinality;
+
+    BitmapContainer(long[] words, int cardinality) {
+        this.words = words;
+        this.cardinality = cardinality;
+    }
+
+    @Override int cardinality() {
+        return cardinality;
+    }
+
+    @Override boolean contains(char low) {
+        return (words[low >>> 6] & (1L << low)) != 0;
+    }
+
+    /* a run starts wherever a bit is set and the one below it isn't */
+    @Override int runCount() {
+        int runs = 0;
+        long carry = 0;
+        for (long word : words) {
+            runs += Long.bitCount(word & ~((word << 1) | carry));
+            carry = word >>> 63;
+        }
+        return runs;
+    }
+
+    @Override char[] toArray() {
+        char[] values = new char[cardinality];
+        int count = 0;
+        for (int i = 0; i < WORDS; i++) {
+            for (long word = words[i]; word != 0; word &= word - 1) {
+                values[count++] = (char) ((i << 6) | Long.numberOfTrailingZeros(word));
+            }
+        }
+        return values;
+    }
+
+    @Override BitmapContainer toBitmap() {
+        return this;
+    }
+
+    @Override PrimitiveIterator.OfInt iterator(int base) {
+        return new PrimitiveIterator.OfInt() {
+            private int index;
+            private long word = words[0];
+
+            @Override public boolean hasNext() {
+                while (word == 0 && index < WORDS - 1) word = words[++index];
+                return word != 0;
+            }
+
+            @Override public int nextInt() {
+                hasNext();
+                int low = (index << 6) | Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+                return base | low;
+            }
+        };
+    }
+
+    BitmapContainer andNot(ArrayContainer other) {
+        long[] result = words.clone();
+        int count = cardinality;
+        for (char low : other.toArray()) {
+            long bit = 1L << low;
+            if ((result[low >>> 6] & bit) != 0) {
+                result[low >>> 6] &= ~bit;
+                count--;
+            }
+        }
+        return new BitmapContainer(result, count);
+    }
+
+    static BitmapContainer and(BitmapContainer a, BitmapContainer b) {
+        long[] result = new long[WORDS];
+        int count = 0;
+        for (int i = 0; i < WORDS; i++) count += Long.bitCount(result[i] = a.words[i] & b.words[i]);
+        return new BitmapContainer(result, count);
+    }
+
+    static BitmapContainer or(BitmapContainer a, BitmapContainer b) {
+        long[] result = new long[WORDS];
+        int count = 0;
+        for (int i = 0; i < WORDS; i++) count += Long.bitCount(result[i] = a.words[i] | b.words[i]);
+        return new BitmapContainer(result, count);
+    }
+
+    static BitmapContainer andNot(BitmapContainer a, BitmapContainer b) {
+        long[] result = new long[WORDS];
+        int count = 0;
+        for (int i = 0; i < WORDS; i++) count += Long.bitCount(result[i] = a.words[i] & ~b.words[i]);
+        return new BitmapContainer(result, count);
+    }
+
+    static BitmapContainer xor(BitmapContainer a, BitmapContainer b) {
+        long[] result = new long[WORDS];
+        int count = 0;
+        for (int i = 0; i < WORDS; i++) count += Long.bitCount(result[i] = a.words[i] ^ b.words[i]);
+        return new BitmapContainer(result, count);
+    }
+
+    /* sets every bit from first to last, both included */
+    static void set(long[] words, int first, int last) {
+        int firstWord = first >>> 6;
+        int lastWord = last >>> 6;
+        long firstMask = -1L << first;
+        long lastMask = -1L >>> (63 - (last & 63));
+        if (firstWord == lastWord) {
+            words[firstWord] |= firstMask & lastMask;
+            return;
+        }
+        words[firstWord] |= firstMask;
+        for (int i = firstWord + 1; i < lastWord; i++) words[i] = -1L;
+        words[lastWord] |= lastMask;
+    }
+}
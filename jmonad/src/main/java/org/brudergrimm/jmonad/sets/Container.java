@@ -0,0 +1,66 @@
+package org.brudergrimm.jmonad.sets;
+
+import java.util.PrimitiveIterator;
+
+/* The low 16 bits of the values in one chunk of an IntSet, as a sorted array, a bitmap or a list of runs
+Containers never change once they're built, operations always hand back a new one (or one of their inputs) */
+abstract class Container {
+    static final int MAX_ARRAY_SIZE = 4096;
+    private static final int BITMAP_BYTES = BitmapContainer.WORDS * 8;
+
+    abstract int cardinality();
+    abstract boolean contains(char low);
+    abstract int runCount();
+    abstract char[] toArray();
+
+    /* yields base | low for every low in here, in ascending order */
+    abstract PrimitiveIterator.OfInt iterator(int base);
+
+    BitmapContainer toBitmap() {
+        long[] words = new long[BitmapContainer.WORDS];
+        for (char low : toArray()) words[low >>> 6] |= 1L << low;
+        return new BitmapContainer(words, cardinality());
+    }
+
+    final Container and(Container other) {
+        if (this instanceof ArrayContainer) return ((ArrayContainer) this).retain(other);
+        if (other instanceof ArrayContainer) return ((ArrayContainer) other).retain(this);
+        return BitmapContainer.and(toBitmap(), other.toBitmap());
+    }
+
+    final Container or(Container other) {
+        if (this instanceof ArrayContainer && other instanceof ArrayContainer) {
+            return ((ArrayContainer) this).or((ArrayContainer) other);
+        }
+        return BitmapContainer.or(toBitmap(), other.toBitmap());
+    }
+
+    final Container andNot(Container other) {
+        if (this instanceof ArrayContainer) return ((ArrayContainer) this).remove(other);
+        if (other instanceof ArrayContainer) return toBitmap().andNot((ArrayContainer) other);
+        return BitmapContainer.andNot(toBitmap(), other.toBitmap());
+    }
+
+    final Container xor(Container other) {
+        if (this instanceof ArrayContainer && other instanceof ArrayContainer) {
+            return ((ArrayContainer) this).xor((ArrayContainer) other);
+        }
+        return BitmapContainer.xor(toBitmap(), other.toBitmap());
+    }
+
+    /* The smallest representation of the same values, or null if there are none */
+    static Container best(Container container) {
+        int cardinality = container.cardinality();
+        if (cardinality == 0) return null;
+
+        int runBytes = 2 + 4 * container.runCount();
+        int arrayBytes = cardinality <= MAX_ARRAY_SIZE ? 2 * cardinality : Integer.MAX_VALUE;
+        if (runBytes < arrayBytes && runBytes < BITMAP_BYTES) {
+            return container instanceof RunContainer ? container : RunContainer.from(container);
+        }
+        if (arrayBytes <= BITMAP_BYTES) {
+            return container instanceof ArrayContainer ? container : new ArrayContainer(container.toArray());
+        }
+        return container.toBitmap();
+    }
+}
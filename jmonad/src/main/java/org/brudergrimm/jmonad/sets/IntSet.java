@@ -0,0 +1,257 @@
+package org.brudergrimm.jmonad.sets;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/** An immutable set of ints, for when ListProcessing on boxed ids gets too slow
+ *  The values are split into chunks by their upper 16 bits and every chunk keeps its lower 16 bits in whatever is
+ *  smallest: a sorted array for sparse chunks, a bitmap for dense ones or a list of runs for consecutive values.
+ *  Set operations go chunk by chunk, bitmaps 64 values at a time, and iterating always yields ascending values
+ *
+ *  <pre>{@code
+ *  IntSet active = IntSet.fromList(activeIds);
+ *  IntSet banned = IntSet.of(4, 8, 15);
+ *  List<Integer> allowed = active.difference(banned).toList();
+ *  }</pre> */
+public final class IntSet implements Iterable<Integer> {
+    private static final IntSet empty = new IntSet(new char[0], new Container[0]);
+
+    private static final int UNION = 0;
+    private static final int INTERSECTION = 1;
+    private static final int DIFFERENCE = 2;
+    private static final int XOR = 3;
+
+    /* sorted keys, the upper 16 bits with the sign flipped so that negative values come first */
+    private final char[] keys;
+    private final Container[] containers;
+
+    private IntSet(char[] keys, Container[] containers) {
+        this.keys = keys;
+        this.containers = containers;
+    }
+
+    public static IntSet empty() {
+        return empty;
+    }
+
+    /** @param values in any order, duplicates are fine
+     *  @return the set of those values */
+    public static IntSet of(int... values) {
+        int[] sorted = values.clone();
+        Arrays.sort(sorted);
+
+        char[] keys = new char[Math.min(sorted.length, 1 << 16)];
+        Container[] containers = new Container[keys.length];
+        int count = 0;
+        for (int from = 0, to; from < sorted.length; from = to) {
+            char key = key(sorted[from]);
+            to = from;
+            while (to < sorted.length && key(sorted[to]) == key) to++;
+
+            char[] lows = new char[to - from];
+            int distinct = 0;
+            for (int i = from; i < to; i++) {
+                char low = (char) sorted[i];
+                if (distinct == 0 || lows[distinct - 1] != low) lows[distinct++] = low;
+            }
+            keys[count] = key;
+            containers[count++] = Container.best(new ArrayContainer(Arrays.copyOf(lows, distinct)));
+        }
+        return trimmed(keys, containers, count);
+    }
+
+    /** @param values the values to put in the set, must not contain null
+     *  @return the set of those values */
+    public static IntSet fromList(List<Integer> values) {
+        int[] unboxed = new int[values.size()];
+        int i = 0;
+        for (int value : values) unboxed[i++] = value;
+        return of(unboxed);
+    }
+
+    /** @param from the smallest value in the set
+     *  @param to the first value after from that isn't in the set any more
+     *  @return the set of all values from from to to - 1, stored as runs no matter how many there are */
+    public static IntSet range(int from, int to) {
+        if (from >= to) return empty;
+
+        long first = (from ^ Integer.MIN_VALUE) & 0xFFFFFFFFL;
+        long last = ((to - 1) ^ Integer.MIN_VALUE) & 0xFFFFFFFFL;
+        int firstKey = (int) (first >>> 16);
+        int lastKey = (int) (last >>> 16);
+
+        char[] keys = new char[lastKey - firstKey + 1];
+        Container[] containers = new Container[keys.length];
+        for (int key = firstKey; key <= lastKey; key++) {
+            int low = key == firstKey ? (int) (first & 0xFFFF) : 0;
+            int high = key == lastKey ? (int) (last & 0xFFFF) : 0xFFFF;
+            keys[key - firstKey] = (char) key;
+            containers[key - firstKey] = RunContainer.range(low, high);
+        }
+        return new IntSet(keys, containers);
+    }
+
+    public boolean contains(int value) {
+        int index = Arrays.binarySearch(keys, key(value));
+        return index >= 0 && containers[index].contains((char) value);
+    }
+
+    public boolean isEmpty() {
+        return keys.length == 0;
+    }
+
+    /** @return the number of values in the set, a long since a set can hold all 2^32 ints */
+    public long cardinality() {
+        long cardinality = 0;
+        for (Container container : containers) cardinality += container.cardinality();
+        return cardinality;
+    }
+
+    public IntSet union(IntSet other) {
+        return combine(other, UNION);
+    }
+
+    public IntSet intersection(IntSet other) {
+        return combine(other, INTERSECTION);
+    }
+
+    public IntSet difference(IntSet without) {
+        return combine(without, DIFFERENCE);
+    }
+
+    /** @param other the other set
+     *  @return the values that are in exactly one of the sets, the symmetric difference */
+    public IntSet xor(IntSet other) {
+        return combine(other, XOR);
+    }
+
+    /* Walks through the keys of both sets side by side. A chunk that only one side has is either taken as is or
+    dropped, only chunks both have need their containers combined */
+    private IntSet combine(IntSet other, int operation) {
+        char[] keys = new char[this.keys.length + other.keys.length];
+        Container[] containers = new Container[keys.length];
+        int i = 0, j = 0, count = 0;
+        while (i < this.keys.length || j < other.keys.length) {
+            int compare = i == this.keys.length ? 1
+                    : j == other.keys.length ? -1
+                    : Character.compare(this.keys[i], other.keys[j]);
+
+            char key;
+            Container result;
+            if (compare < 0) {
+                key = this.keys[i];
+                result = operation == INTERSECTION ? null : this.containers[i];
+                i++;
+            } else if (compare > 0) {
+                key = other.keys[j];
+                result = operation == UNION || operation == XOR ? other.containers[j] : null;
+                j++;
+            } else {
+                key = this.keys[i];
+                result = Container.best(combine(this.containers[i], other.containers[j], operation));
+                i++;
+                j++;
+            }
+
+            if (result != null) {
+                keys[count] = key;
+                containers[count++] = result;
+            }
+        }
+        return trimmed(keys, containers, count);
+    }
+
+    private static Container combine(Container a, Container b, int operation) {
+        switch (operation) {
+            case UNION: return a.or(b);
+            case INTERSECTION: return a.and(b);
+            case DIFFERENCE: return a.andNot(b);
+            default: return a.xor(b);
+        }
+    }
+
+    @Override public PrimitiveIterator.OfInt iterator() {
+        return new PrimitiveIterator.OfInt() {
+            private int index;
+            private PrimitiveIterator.OfInt current;
+
+            @Override public boolean hasNext() {
+                while (current == null || !current.hasNext()) {
+                    if (index == keys.length) return false;
+                    current = containers[index].iterator(base(keys[index]));
+                    index++;
+                }
+                return true;
+            }
+
+            @Override public int nextInt() {
+                if (!hasNext()) throw new NoSuchElementException();
+                return current.nextInt();
+            }
+        };
+    }
+
+    public IntStream stream() {
+        int characteristics = Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.NONNULL;
+        return StreamSupport.intStream(Spliterators.spliterator(iterator(), cardinality(), characteristics), false);
+    }
+
+    public int[] toArray() {
+        return stream().toArray();
+    }
+
+    /** @return the values in ascending order */
+    public List<Integer> toList() {
+        List<Integer> values = new ArrayList<>((int) Math.min(cardinality(), Integer.MAX_VALUE - 8));
+        for (PrimitiveIterator.OfInt iterator = iterator(); iterator.hasNext(); ) values.add(iterator.nextInt());
+        return values;
+    }
+
+    private static char key(int value) {
+        return (char) ((value ^ Integer.MIN_VALUE) >>> 16);
+    }
+
+    private static int base(char key) {
+        return (key << 16) ^ Integer.MIN_VALUE;
+    }
+
+    private static IntSet trimmed(char[] keys, Container[] containers, int count) {
+        if (count == 0) return empty;
+        if (count == keys.length) return new IntSet(keys, containers);
+        return new IntSet(Arrays.copyOf(keys, count), Arrays.copyOf(containers, count));
+    }
+
+    @Override public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof IntSet)) return false;
+        IntSet other = (IntSet) obj;
+        if (!Arrays.equals(keys, other.keys) || cardinality() != other.cardinality()) return false;
+
+        PrimitiveIterator.OfInt these = iterator(), those = other.iterator();
+        while (these.hasNext()) if (these.nextInt() != those.nextInt()) return false;
+        return true;
+    }
+
+    @Override public int hashCode() {
+        int hash = 1;
+        for (PrimitiveIterator.OfInt iterator = iterator(); iterator.hasNext(); ) hash = 31 * hash + iterator.nextInt();
+        return hash;
+    }
+
+    @Override public String toString() {
+        StringBuilder builder = new StringBuilder("IntSet(");
+        PrimitiveIterator.OfInt iterator = iterator();
+        for (int shown = 0; iterator.hasNext() && shown < 16; shown++) {
+            if (shown > 0) builder.append(", ");
+            builder.append(iterator.nextInt());
+        }
+        return builder.append(iterator.hasNext() ? ", ...)" : ")").toString();
+    }
+}
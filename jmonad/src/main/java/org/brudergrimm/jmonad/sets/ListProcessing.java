@@ -0,0 +1,108 @@
+package org.brudergrimm.jmonad.sets;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+/** Set operations on lists, keeping the order of the inputs and comparing with equals
+ *  Lookups go through a hash set once the list we look things up in gets longer than a few elements, so hashCode has
+ *  to agree with equals. If both inputs are sorted, use the overloads taking the comparator they are sorted by, they
+ *  merge the lists in one pass and don't hash at all - equal then means the comparator returns 0 */
+public class ListProcessing {
+    /* up to this size scanning the list is cheaper than hashing it */
+    private static final int LINEAR_LOOKUP_LIMIT = 16;
+
+    public static <T> List<T> union(List<T> a, List<T> b) {
+        List<T> result = new ArrayList<>(a.size() + b.size());
+        Set<T> seen = new HashSet<>();
+        for (T value : a) if (seen.add(value)) result.add(value);
+        for (T value : b) if (seen.add(value)) result.add(value);
+        return result;
+    }
+
+    public static <T> List<T> intersection(List<T> a, List<T> b) {
+        Collection<T> lookup = lookup(b);
+        List<T> result = new ArrayList<>();
+        for (T value : a) if (lookup.contains(value)) result.add(value);
+        return result;
+    }
+
+    public static <T> List<T> difference(List<T> a, List<T> without) {
+        Collection<T> lookup = lookup(without);
+        List<T> result = new ArrayList<>();
+        for (T value : a) if (!lookup.contains(value)) result.add(value);
+        return result;
+    }
+
+    /* Everything that is in exactly one of the lists, in the order of a followed by b, without duplicates
+    Once we are through a, seen holds exactly the elements of a, so it also tells us which of bs to drop */
+    public static <T> List<T> symmetricDifference(List<T> a, List<T> b) {
+        Collection<T> inB = lookup(b);
+        Set<T> seen = new HashSet<>();
+        List<T> result = new ArrayList<>();
+        for (T value : a) if (seen.add(value) && !inB.contains(value)) result.add(value);
+        for (T value : b) if (seen.add(value)) result.add(value);
+        return result;
+    }
+
+    private static <T> Collection<T> lookup(List<T> values) {
+        return values.size() <= LINEAR_LOOKUP_LIMIT ? values : new HashSet<>(values);
+    }
+
+    /** Same as union, for lists that are both sorted by order */
+    public static <T> List<T> union(List<T> a, List<T> b, Comparator<? super T> order) {
+        List<T> result = merge(a, Collections.emptyList(), order, false, true);
+        result.addAll(merge(b, a, order, false, true));
+        return result;
+    }
+
+    /** Same as intersection, for lists that are both sorted by order */
+    public static <T> List<T> intersection(List<T> a, List<T> b, Comparator<? super T> order) {
+        return merge(a, b, order, true, false);
+    }
+
+    /** Same as difference, for lists that are both sorted by order */
+    public static <T> List<T> difference(List<T> a, List<T> without, Comparator<? super T> order) {
+        return merge(a, without, order, false, false);
+    }
+
+    /** Same as symmetricDifference, for lists that are both sorted by order */
+    public static <T> List<T> symmetricDifference(List<T> a, List<T> b, Comparator<? super T> order) {
+        List<T> result = merge(a, b, order, false, true);
+        result.addAll(merge(b, a, order, false, true));
+        return result;
+    }
+
+    /* Walks through values and others side by side, keeping the values that are (or aren't) in others
+    If distinct, repeated values get dropped - they sit right next to each other since values is sorted */
+    private static <T> List<T> merge(List<T> values, List<T> others, Comparator<? super T> order,
+                                     boolean keepContained, boolean distinct) {
+        List<T> result = new ArrayList<>();
+        Iterator<T> remaining = others.iterator();
+        boolean hasOther = remaining.hasNext();
+        T other = hasOther ? remaining.next() : null;
+
+        boolean first = true;
+        T previous = null;
+        for (T value : values) {
+            boolean repeated = !first && order.compare(previous, value) == 0;
+            first = false;
+            previous = value;
+            if (distinct && repeated) continue;
+
+            while (hasOther && order.compare(other, value) < 0) {
+                hasOther = remaining.hasNext();
+                other = hasOther ? remaining.next() : null;
+            }
+
+            boolean contained = hasOther && order.compare(other, value) == 0;
+            if (contained == keepContained) result.add(value);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,99 @@
+package org.brudergrimm.jmonad.sets;
+
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+
+/* Consecutive values as (start, length - 1) pairs, 4 bytes per run no matter how long it is */
+final class RunContainer extends Container {
+    private final char[] runs;
+    private final int cardinality;
+
+    private RunContainer(char[] runs) {
+        this.runs = runs;
+        int count = 0;
+        for (int i = 1; i < runs.length; i += 2) count += runs[i] + 1;
+        this.cardinality = count;
+    }
+
+    static RunContainer range(int first, int last) {
+        return new RunContainer(new char[] { (char) first, (char) (last - first) });
+    }
+
+    static RunContainer from(Container container) {
+        char[] runs = new char[2 * container.runCount()];
+        int count = 0;
+        int start = -1, previous = -1;
+        for (PrimitiveIterator.OfInt lows = container.iterator(0); lows.hasNext(); ) {
+            int low = lows.nextInt();
+            if (low != previous + 1 || start < 0) {
+                if (start >= 0) {
+                    runs[count++] = (char) start;
+                    runs[count++] = (char) (previous - start);
+                }
+                start = low;
+            }
+            previous = low;
+        }
+        if (start >= 0) {
+            runs[count++] = (char) start;
+            runs[count++] = (char) (previous - start);
+        }
+        return new RunContainer(count == runs.length ? runs : Arrays.copyOf(runs, count));
+    }
+
+    @Override int cardinality() {
+        return cardinality;
+    }
+
+    /* binary search for the last run starting at or below low */
+    @Override boolean contains(char low) {
+        int from = 0, to = runs.length / 2 - 1;
+        while (from <= to) {
+            int middle = (from + to) >>> 1;
+            int start = runs[2 * middle];
+            if (low < start) to = middle - 1;
+            else if (low > start + runs[2 * middle + 1]) from = middle + 1;
+            else return true;
+        }
+        return false;
+    }
+
+    @Override int runCount() {
+        return runs.length / 2;
+    }
+
+    @Override char[] toArray() {
+        char[] values = new char[cardinality];
+        int count = 0;
+        for (int i = 0; i < runs.length; i += 2) {
+            for (int low = runs[i], last = runs[i] + runs[i + 1]; low <= last; low++) values[count++] = (char) low;
+        }
+        return values;
+    }
+
+    @Override BitmapContainer toBitmap() {
+        long[] words = new long[BitmapContainer.WORDS];
+        for (int i = 0; i < runs.length; i += 2) BitmapContainer.set(words, runs[i], runs[i] + runs[i + 1]);
+        return new BitmapContainer(words, cardinality);
+    }
+
+    @Override PrimitiveIterator.OfInt iterator(int base) {
+        return new PrimitiveIterator.OfInt() {
+            private int run;
+            private int offset;
+
+            @Override public boolean hasNext() {
+                return run < runs.length;
+            }
+
+            @Override public int nextInt() {
+                int low = runs[run] + offset;
+                if (offset == runs[run + 1]) {
+                    run += 2;
+                    offset = 0;
+                } else offset++;
+                return base | low;
+            }
+        };
+    }
+}
@@ -0,0 +1,120 @@
+package org.brudergrimm.jmonad.sets;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/* Walks two sorted iterators side by side and hands out the result of a set operation on them, one element at a time
+Only ever holds the current head of each input, and doesn't touch the inputs before the first call to hasNext */
+final class SortedMerge<T> implements Iterator<T> {
+    enum Operation { UNION, INTERSECTION, DIFFERENCE, SYMMETRIC_DIFFERENCE }
+
+    private final Cursor<T> a;
+    private final Cursor<T> b;
+    private final Comparator<? super T> order;
+    private final Operation operation;
+
+    private boolean ready;
+    private T next;
+
+    SortedMerge(Iterator<? extends T> a, Iterator<? extends T> b, Comparator<? super T> order, Operation operation) {
+        this.a = new Cursor<>(a);
+        this.b = new Cursor<>(b);
+        this.order = order;
+        this.operation = operation;
+    }
+
+    @Override public boolean hasNext() {
+        if (!ready) ready = advance();
+        return ready;
+    }
+
+    @Override public T next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        ready = false;
+        T value = next;
+        next = null;
+        return value;
+    }
+
+    private boolean advance() {
+        switch (operation) {
+            case UNION:
+                if (!a.has() && !b.has()) return false;
+                next = smallest();
+                a.skip(next, order);
+                b.skip(next, order);
+                return true;
+            case SYMMETRIC_DIFFERENCE:
+                while (a.has() || b.has()) {
+                    T value = smallest();
+                    if (a.skip(value, order) != b.skip(value, order)) {
+                        next = value;
+                        return true;
+                    }
+                }
+                return false;
+            default: // intersection and difference keep the duplicates of a, so only a single element of a is used up
+                boolean keepContained = operation == Operation.INTERSECTION;
+                while (a.has()) {
+                    T value = a.head();
+                    a.advance();
+                    b.skipBelow(value, order);
+                    boolean contained = b.has() && order.compare(b.head(), value) == 0;
+                    if (contained == keepContained) {
+                        next = value;
+                        return true;
+                    }
+                }
+                return false;
+        }
+    }
+
+    private T smallest() {
+        if (!a.has()) return b.head();
+        if (!b.has()) return a.head();
+        return order.compare(a.head(), b.head()) <= 0 ? a.head() : b.head();
+    }
+
+    private static final class Cursor<T> {
+        private final Iterator<? extends T> values;
+        private boolean fetched;
+        private boolean has;
+        private T head;
+
+        Cursor(Iterator<? extends T> values) {
+            this.values = values;
+        }
+
+        boolean has() {
+            if (!fetched) {
+                has = values.hasNext();
+                head = has ? values.next() : null;
+                fetched = true;
+            }
+            return has;
+        }
+
+        T head() {
+            return head;
+        }
+
+        void advance() {
+            fetched = false;
+        }
+
+        /* moves past every element equal to value, true if there was one */
+        boolean skip(T value, Comparator<? super T> order) {
+            boolean skipped = false;
+            while (has() && order.compare(head, value) == 0) {
+                advance();
+                skipped = true;
+            }
+            return skipped;
+        }
+
+        void skipBelow(T value, Comparator<? super T> order) {
+            while (has() && order.compare(head, value) < 0) advance();
+        }
+    }
+}
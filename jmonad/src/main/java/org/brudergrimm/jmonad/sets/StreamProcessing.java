@@ -0,0 +1,127 @@
+package org.brudergrimm.jmonad.sets;
+
+import org.brudergrimm.jmonad.sets.SortedMerge.Operation;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BinaryOperator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/** Set operations on inputs that are too big to fit into memory, as long as they are sorted by the given comparator
+ *  The results are lazy streams that pull from the inputs as you consume them, and only ever hold one element of each
+ *  input. Unlike ListProcessing, results come out sorted, union and symmetricDifference without duplicates and
+ *  intersection and difference with the duplicates of a - equal means the comparator returns 0
+ *
+ *  <pre>{@code
+ *  try (Stream<String> added = StreamProcessing.difference(today, yesterday, Comparator.naturalOrder())) {
+ *      added.forEach(System.out::println);
+ *  }
+ *  }</pre>
+ *
+ *  Closing a result closes the streams or files it was made from */
+public final class StreamProcessing {
+    private StreamProcessing() { }
+
+    public static <T> Stream<T> union(Iterator<? extends T> a, Iterator<? extends T> b, Comparator<? super T> order) {
+        return merge(a, b, order, Operation.UNION);
+    }
+
+    public static <T> Stream<T> intersection(Iterator<? extends T> a, Iterator<? extends T> b, Comparator<? super T> order) {
+        return merge(a, b, order, Operation.INTERSECTION);
+    }
+
+    public static <T> Stream<T> difference(Iterator<? extends T> a, Iterator<? extends T> without, Comparator<? super T> order) {
+        return merge(a, without, order, Operation.DIFFERENCE);
+    }
+
+    public static <T> Stream<T> symmetricDifference(Iterator<? extends T> a, Iterator<? extends T> b, Comparator<? super T> order) {
+        return merge(a, b, order, Operation.SYMMETRIC_DIFFERENCE);
+    }
+
+    public static <T> Stream<T> union(Spliterator<? extends T> a, Spliterator<? extends T> b, Comparator<? super T> order) {
+        return union(Spliterators.iterator(a), Spliterators.iterator(b), order);
+    }
+
+    public static <T> Stream<T> intersection(Spliterator<? extends T> a, Spliterator<? extends T> b, Comparator<? super T> order) {
+        return intersection(Spliterators.iterator(a), Spliterators.iterator(b), order);
+    }
+
+    public static <T> Stream<T> difference(Spliterator<? extends T> a, Spliterator<? extends T> without, Comparator<? super T> order) {
+        return difference(Spliterators.iterator(a), Spliterators.iterator(without), order);
+    }
+
+    public static <T> Stream<T> symmetricDifference(Spliterator<? extends T> a, Spliterator<? extends T> b, Comparator<? super T> order) {
+        return symmetricDifference(Spliterators.iterator(a), Spliterators.iterator(b), order);
+    }
+
+    public static <T> Stream<T> union(Stream<? extends T> a, Stream<? extends T> b, Comparator<? super T> order) {
+        return union(a.iterator(), b.iterator(), order).onClose(a::close).onClose(b::close);
+    }
+
+    public static <T> Stream<T> intersection(Stream<? extends T> a, Stream<? extends T> b, Comparator<? super T> order) {
+        return intersection(a.iterator(), b.iterator(), order).onClose(a::close).onClose(b::close);
+    }
+
+    public static <T> Stream<T> difference(Stream<? extends T> a, Stream<? extends T> without, Comparator<? super T> order) {
+        return difference(a.iterator(), without.iterator(), order).onClose(a::close).onClose(without::close);
+    }
+
+    public static <T> Stream<T> symmetricDifference(Stream<? extends T> a, Stream<? extends T> b, Comparator<? super T> order) {
+        return symmetricDifference(a.iterator(), b.iterator(), order).onClose(a::close).onClose(b::close);
+    }
+
+    /** Union of the lines of two UTF-8 files, both sorted by order
+     *  @throws IOException if one of the files can't be opened, later read errors are thrown as UncheckedIOException */
+    public static Stream<String> union(Path a, Path b, Comparator<? super String> order) throws IOException {
+        return lines(a, b, (x, y) -> union(x, y, order));
+    }
+
+    /** Intersection of the lines of two UTF-8 files, both sorted by order
+     *  @throws IOException if one of the files can't be opened, later read errors are thrown as UncheckedIOException */
+    public static Stream<String> intersection(Path a, Path b, Comparator<? super String> order) throws IOException {
+        return lines(a, b, (x, y) -> intersection(x, y, order));
+    }
+
+    /** Difference of the lines of two UTF-8 files, both sorted by order
+     *  @throws IOException if one of the files can't be opened, later read errors are thrown as UncheckedIOException */
+    public static Stream<String> difference(Path a, Path without, Comparator<? super String> order) throws IOException {
+        return lines(a, without, (x, y) -> difference(x, y, order));
+    }
+
+    /** Symmetric difference of the lines of two UTF-8 files, both sorted by order
+     *  @throws IOException if one of the files can't be opened, later read errors are thrown as UncheckedIOException */
+    public static Stream<String> symmetricDifference(Path a, Path b, Comparator<? super String> order) throws IOException {
+        return lines(a, b, (x, y) -> symmetricDifference(x, y, order));
+    }
+
+    private static <T> Stream<T> merge(Iterator<? extends T> a, Iterator<? extends T> b, Comparator<? super T> order, Operation operation) {
+        SortedMerge<T> merged = new SortedMerge<>(a, b, order, operation);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(merged, Spliterator.ORDERED), false);
+    }
+
+    private static Stream<String> lines(Path a, Path b, BinaryOperator<Stream<String>> operation) throws IOException {
+        BufferedReader first = Files.newBufferedReader(a);
+        BufferedReader second;
+        try {
+            second = Files.newBufferedReader(b);
+        } catch (IOException notOpened) {
+            try { first.close(); } catch (IOException closing) { notOpened.addSuppressed(closing); }
+            throw notOpened;
+        }
+        return operation.apply(lines(first), lines(second));
+    }
+
+    private static Stream<String> lines(BufferedReader reader) {
+        return reader.lines().onClose(() -> {
+            try { reader.close(); } catch (IOException closing) { throw new UncheckedIOException(closing); }
+        });
+    }
+}
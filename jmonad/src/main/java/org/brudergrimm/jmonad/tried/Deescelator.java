@@ -11,7 +11,7 @@ public class Deescelator {
                 return throwingSupplier.get();
             }
             catch (VirtualMachineError | ThreadDeath | LinkageError fatal) { throw fatal; }
-            catch (Throwable e) { throw new RuntimeException(e); } };
+            catch (Throwable e) { throw Failures.wrap(e); } };
     }
 
     static <T, R> Function<T, R> asDeescelatedFunction(ThrowingFunction<T, R> throwingFunction) {
@@ -20,7 +20,7 @@ public class Deescelator {
                 return throwingFunction.apply(r);
             }
             catch (VirtualMachineError | ThreadDeath | LinkageError fatal) { throw fatal; }
-            catch (Throwable e) { throw new RuntimeException(e); }
+            catch (Throwable e) { throw Failures.wrap(e); }
         };
     }
 }
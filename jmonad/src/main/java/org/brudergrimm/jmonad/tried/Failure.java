@@ -14,12 +14,15 @@ public class Failure<T> extends Try<T> {
 
     Failure(Throwable exception) {
         this.exception = exception;
+        TryEvents.failure(exception);
     }
 
     public static <T> Try<T> apply(Throwable failure) {
         return new Failure<>(failure);
     }
 
+    Throwable exception() { return exception; }
+
     @Override public boolean isSuccess() { return false; }
 
     @Override public Try<T> onSuccess(Consumer<T> consumer) { return this; }
@@ -28,7 +31,12 @@ public class Failure<T> extends Try<T> {
         return this;
     }
 
-    @Override public T get() { throw new RuntimeException(exception); }
+    /* unchecked exceptions don't need another wrapper to be thrown */
+    @Override public T get() {
+        if (exception instanceof RuntimeException) throw (RuntimeException) exception;
+        if (exception instanceof Error) throw (Error) exception;
+        throw Failures.wrap(exception);
+    }
 
     @Override public Try<Throwable> failed() { return Success.apply(exception); }
 
@@ -0,0 +1,12 @@
+package org.brudergrimm.jmonad.tried;
+
+/** How expensive the failures this library creates itself are allowed to be, see Failures */
+public enum FailureMode {
+    /** Every failure gets its own exception with a full stack trace, the default */
+    FULL_STACK_TRACE,
+
+    /** Wrappers around checked exceptions skip filling in their stack trace, since the wrapped exception has one anyway
+     *  Control flow failures like a filter that didn't match, None.get or a Try that didn't fail don't get a stack trace
+     *  or the value in their message either */
+    STACKLESS
+}
@@ -0,0 +1,62 @@
+package org.brudergrimm.jmonad.tried;
+
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/** Creates the exceptions the library raises itself, as cheap as the FailureMode allows
+ *  Defaults to FULL_STACK_TRACE, start the jvm with -Djmonad.failures=stackless or call setMode to switch
+ *  Every call gets its own instance, even stackless ones - try-with-resources adds suppressed exceptions to whatever
+ *  got thrown, so a shared one would collect them from everywhere */
+public final class Failures {
+    private static volatile FailureMode mode = "stackless".equalsIgnoreCase(System.getProperty("jmonad.failures"))
+            ? FailureMode.STACKLESS
+            : FailureMode.FULL_STACK_TRACE;
+
+    private Failures() { }
+
+    public static FailureMode mode() { return mode; }
+    public static void setMode(FailureMode failureMode) { mode = Objects.requireNonNull(failureMode, "failureMode"); }
+
+    /** @param cause whatever was thrown, usually a checked exception
+     *  @return an unchecked exception wrapping the cause, whose message is only built if someone asks for it */
+    public static RuntimeException wrap(Throwable cause) {
+        return new WrappedException(cause, mode == FailureMode.FULL_STACK_TRACE);
+    }
+
+    /** @param value the value that didn't satisfy the predicate
+     *  @return the failure of a filter */
+    public static NoSuchElementException predicateMismatch(Object value) {
+        return mode == FailureMode.STACKLESS ? new StacklessNoSuchElementException("Predicate does not hold") : new PredicateMismatchException(value);
+    }
+
+    /** @return the failure of getting the value of an empty option */
+    public static NoSuchElementException noneGet() {
+        return mode == FailureMode.STACKLESS ? new StacklessNoSuchElementException("None.get") : new NoSuchElementException("None.get");
+    }
+
+    /** @return the failure of asking a success for its failure */
+    public static UnsupportedOperationException didNotFail() {
+        return mode == FailureMode.STACKLESS ? new StacklessUnsupportedOperationException("Can't convert success to failure") : new UnsupportedOperationException("Can't convert success to failure");
+    }
+
+    /* the value only gets turned into a string if someone actually reads the message */
+    private static final class PredicateMismatchException extends NoSuchElementException {
+        private final transient Object value;
+
+        PredicateMismatchException(Object value) { this.value = value; }
+
+        @Override public String getMessage() { return "Predicate does not hold for " + value; }
+    }
+
+    private static final class StacklessNoSuchElementException extends NoSuchElementException {
+        StacklessNoSuchElementException(String message) { super(message); }
+
+        @Override public synchronized Throwable fillInStackTrace() { return this; }
+    }
+
+    private static final class StacklessUnsupportedOperationException extends UnsupportedOperationException {
+        StacklessUnsupportedOperationException(String message) { super(message); }
+
+        @Override public synchronized Throwable fillInStackTrace() { return this; }
+    }
+}
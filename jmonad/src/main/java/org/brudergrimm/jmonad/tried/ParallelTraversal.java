@@ -0,0 +1,64 @@
+package org.brudergrimm.jmonad.tried;
+
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/* Splits a traversal in halves until the chunks are small enough, then runs the chunks on the fork join pool
+Every chunk writes into its own part of one pre-sized array. The first failure is shared by all chunks, they check it
+before every element, so once one fails the others stop as soon as they see it, and chunks that haven't started never do */
+final class ParallelTraversal<A, B> extends RecursiveAction {
+    private final List<A> values;
+    private final Function<A, Try<B>> fn;
+    private final Object[] results;
+    private final AtomicReference<Throwable> failure;
+    private final int threshold;
+    private final int from;
+    private final int to;
+
+    ParallelTraversal(List<A> values, Function<A, Try<B>> fn, Object[] results, AtomicReference<Throwable> failure,
+                      int threshold, int from, int to) {
+        this.values = values;
+        this.fn = fn;
+        this.results = results;
+        this.failure = failure;
+        this.threshold = threshold;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override protected void compute() {
+        if (failure.get() != null) return;
+
+        if (to - from <= threshold) {
+            traverse();
+        } else {
+            int middle = (from + to) >>> 1;
+            invokeAll(
+                    new ParallelTraversal<>(values, fn, results, failure, threshold, from, middle),
+                    new ParallelTraversal<>(values, fn, results, failure, threshold, middle, to)
+            );
+        }
+    }
+
+    private void traverse() {
+        for (int i = from; i < to; i++) {
+            if (failure.get() != null) return;
+
+            try {
+                Try<B> result = fn.apply(values.get(i));
+                if (!result.isSuccess()) {
+                    failure.compareAndSet(null, ((Failure<B>) result).exception());
+                    return;
+                }
+                results[i] = result.get();
+            }
+            catch (VirtualMachineError | ThreadDeath | LinkageError fatal) { throw fatal; }
+            catch (Exception nonFatal) {
+                failure.compareAndSet(null, nonFatal);
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package org.brudergrimm.jmonad.tried;
+
+import java.util.List;
+
+/** The values of all successes and the exceptions of all failures of a bunch of tries, see Try.partition
+ *  @param <T> the type of the successful values */
+public final class Partition<T> {
+    private final List<T> successes;
+    private final List<Throwable> failures;
+
+    Partition(List<T> successes, List<Throwable> failures) {
+        this.successes = successes;
+        this.failures = failures;
+    }
+
+    public List<T> successes() { return successes; }
+    public List<Throwable> failures() { return failures; }
+
+    @Override public String toString() { return String.format("Partition(%s, %s)", successes, failures); }
+}
@@ -0,0 +1,118 @@
+package org.brudergrimm.jmonad.tried;
+
+import org.brudergrimm.jmonad.option.None;
+import org.brudergrimm.jmonad.option.Option;
+import org.brudergrimm.jmonad.option.Some;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+
+/** Says how often and how far apart to retry something that failed, used by Try.retry and Future.retry
+ *  The delay starts at initialDelay and grows by multiplier after every failure, up to maxDelay. Jitter spreads it
+ *  by up to that fraction in either direction, so a thousand callers that failed together don't retry together, but
+ *  never beyond maxDelay
+ *  No attempt starts once the deadline (counted from the first attempt) would be over by then, and only failures
+ *  retryOn accepts are retried at all. Immutable, every with... returns a new policy
+ *
+ *  <pre>{@code
+ *  RetryPolicy policy = RetryPolicy.apply(5)
+ *      .withBackoff(Duration.ofMillis(50), 2, Duration.ofSeconds(2))
+ *      .withDeadline(Duration.ofSeconds(10))
+ *      .withRetryOn(failure -> failure instanceof IOException);
+ *  }</pre> */
+public final class RetryPolicy {
+    private static final Duration NO_DEADLINE = Duration.ofSeconds(Long.MAX_VALUE);
+
+    private final int maxAttempts;
+    private final Duration initialDelay;
+    private final double multiplier;
+    private final Duration maxDelay;
+    private final double jitter;
+    private final Duration deadline;
+    private final Predicate<Throwable> retryOn;
+
+    private RetryPolicy(int maxAttempts, Duration initialDelay, double multiplier, Duration maxDelay,
+                        double jitter, Duration deadline, Predicate<Throwable> retryOn) {
+        if (maxAttempts < 1) throw new IllegalArgumentException("maxAttempts must be at least 1, was " + maxAttempts);
+        if (initialDelay.isNegative()) throw new IllegalArgumentException("initialDelay must not be negative");
+        if (maxDelay.compareTo(initialDelay) < 0) throw new IllegalArgumentException("maxDelay must not be below initialDelay");
+        if (!(multiplier >= 1)) throw new IllegalArgumentException("multiplier must be at least 1, was " + multiplier);
+        if (!(jitter >= 0 && jitter <= 1)) throw new IllegalArgumentException("jitter must be between 0 and 1, was " + jitter);
+        if (deadline.isNegative()) throw new IllegalArgumentException("deadline must not be negative");
+
+        this.maxAttempts = maxAttempts;
+        this.initialDelay = initialDelay;
+        this.multiplier = multiplier;
+        this.maxDelay = maxDelay;
+        this.jitter = jitter;
+        this.deadline = deadline;
+        this.retryOn = Objects.requireNonNull(retryOn, "retryOn");
+    }
+
+    /** Starts at 100ms, doubles up to 10s, jitters by 20%, has no deadline and retries every failure
+     *  @param maxAttempts how often to try at most, the first attempt included
+     *  @return the policy */
+    public static RetryPolicy apply(int maxAttempts) {
+        return new RetryPolicy(maxAttempts, Duration.ofMillis(100), 2, Duration.ofSeconds(10),
+                0.2, NO_DEADLINE, failure -> true);
+    }
+
+    public RetryPolicy withMaxAttempts(int maxAttempts) {
+        return new RetryPolicy(maxAttempts, initialDelay, multiplier, maxDelay, jitter, deadline, retryOn);
+    }
+
+    /** @param initialDelay how long to wait after the first failure
+     *  @param multiplier what to multiply the delay with after every further failure, 1 for a fixed delay
+     *  @param maxDelay the delay never grows beyond this
+     *  @return the policy with that backoff */
+    public RetryPolicy withBackoff(Duration initialDelay, double multiplier, Duration maxDelay) {
+        return new RetryPolicy(maxAttempts, initialDelay, multiplier, maxDelay, jitter, deadline, retryOn);
+    }
+
+    /** @param jitter between 0 (always the exact delay) and 1 (anything from no delay to twice the delay)
+     *  @return the policy with that jitter */
+    public RetryPolicy withJitter(double jitter) {
+        return new RetryPolicy(maxAttempts, initialDelay, multiplier, maxDelay, jitter, deadline, retryOn);
+    }
+
+    /** @param deadline how long after the first attempt a retry may start at the latest
+     *  @return the policy with that deadline */
+    public RetryPolicy withDeadline(Duration deadline) {
+        return new RetryPolicy(maxAttempts, initialDelay, multiplier, maxDelay, jitter, deadline, retryOn);
+    }
+
+    /** @param retryOn which failures are worth another attempt, everything else fails right away
+     *  @return the policy with that predicate */
+    public RetryPolicy withRetryOn(Predicate<Throwable> retryOn) {
+        return new RetryPolicy(maxAttempts, initialDelay, multiplier, maxDelay, jitter, deadline, retryOn);
+    }
+
+    public int maxAttempts() { return maxAttempts; }
+
+    /** @param failure what the last attempt failed with
+     *  @param attempts how many attempts there were so far
+     *  @param elapsed how long ago the first attempt started
+     *  @return how long to wait before the next attempt, None if there shouldn't be one */
+    public Option<Duration> nextDelay(Throwable failure, int attempts, Duration elapsed) {
+        if (attempts >= maxAttempts || !retryOn.test(failure)) return None.apply();
+
+        Duration delay = delay(attempts);
+        if (elapsed.plus(delay).compareTo(deadline) > 0) return None.apply();
+        return Some.apply(delay);
+    }
+
+    /* the backoff after that many failures, jittered - and clamped again afterwards, so jitter never pushes it past
+    maxDelay but still spreads the callers that are already at it */
+    private Duration delay(int failures) {
+        double max = nanos(maxDelay);
+        double nanos = Math.min(nanos(initialDelay) * Math.pow(multiplier, failures - 1), max);
+        if (jitter > 0) nanos = Math.min(nanos * (1 + jitter * (2 * ThreadLocalRandom.current().nextDouble() - 1)), max);
+        return Duration.ofNanos((long) nanos); // saturates instead of overflowing
+    }
+
+    private static double nanos(Duration duration) {
+        return duration.getSeconds() * 1e9 + duration.getNano();
+    }
+}
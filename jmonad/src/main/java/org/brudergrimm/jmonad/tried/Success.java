@@ -4,7 +4,6 @@ import org.brudergrimm.jmonad.either.Either;
 import org.brudergrimm.jmonad.either.Right;
 import org.brudergrimm.jmonad.option.Option;
 
-import java.util.NoSuchElementException;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -25,7 +24,7 @@ public class Success<T> extends Try<T> {
     @Override public T get() { return this.value; }
 
     @Override public Try<Throwable> failed() {
-        return Failure.apply(new UnsupportedOperationException("Can't convert success to failure"));
+        return Failure.apply(Failures.didNotFail());
     }
 
     @Override public Try<T> onSuccess(Consumer<T> consumer) {
@@ -48,7 +47,7 @@ public class Success<T> extends Try<T> {
     }
 
     @Override public Try<T> filter(Predicate<T> condition) {
-        return condition.test(value) ? this : Failure.apply(new NoSuchElementException("Predicate does not hold for " + value));
+        return condition.test(value) ? this : Failure.apply(Failures.predicateMismatch(value));
     }
 
     @Override public T getOrElse(T other) { return this.get(); }
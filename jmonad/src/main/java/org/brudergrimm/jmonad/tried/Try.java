@@ -0,0 +1,263 @@
+package org.brudergrimm.jmonad.tried;
+
+import org.brudergrimm.jmonad.either.Either;
+import org.brudergrimm.jmonad.option.Option;
+import org.brudergrimm.jmonad.tried.function.*;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+import static org.brudergrimm.jmonad.tried.Deescelator.asDeescelatedSupplier;
+import static org.brudergrimm.jmonad.tried.Deescelator.asDeescelatedFunction;
+
+/** Since it may not have become clear this boxes an operation that might fail
+ *  and forces the callee to deal with the failure, may it have occured. The
+ *  Idea is that you can map a function to the value of the monad and only before
+ *  having to unbox check if something went wrong, deescalating errors substantially
+ *
+ *  @param <T> the boxed type the operation given to apply will return */
+abstract public class Try<T> implements Serializable {
+    /** Constructs a try from your supplier that has a throws in it's signature
+     *  @param r the supplier that might fail with an exception
+     *  @param <T> the return type of your supplier
+     *  @return A try that might either be an exception or the supplied value  */
+    public static <T> Try<T> applyThrowing(ThrowingSupplier<T> r) {
+        return Try.apply(asDeescelatedSupplier(r));
+    }
+
+    /** Constructs a try from a supplier
+     *  @param f the supplier that might fail with an exception
+     *  @param <T> the return type of your supplier
+     *  @return A try that might either be an exception or the supplied value */
+    public static <T> Try<T> apply(Supplier<T> f) {
+        try {
+            return Success.apply(f.get());
+        }
+        catch (VirtualMachineError | ThreadDeath | LinkageError fatal) { throw fatal; }
+        catch (Exception nonFatal) { return Failure.apply(nonFatal); }
+    }
+
+    /** Tries again while the attempt fails and the policy allows another one, sleeping in between
+     *  This blocks the calling thread for all the delays, use Future.retry if you'd rather not
+     *  @param attempt makes one attempt
+     *  @param policy how often and how far apart to try
+     *  @param <T> the type of the value
+     *  @return the first success, or the last failure if the policy gave up - an interrupt while sleeping gives up too */
+    public static <T> Try<T> retry(Supplier<Try<T>> attempt, RetryPolicy policy) {
+        long start = System.nanoTime();
+        for (int attempts = 1; ; attempts++) {
+            Try<T> tried = Try.apply(attempt).flatMap(Function.identity());
+            if (tried.isSuccess()) return tried;
+
+            Throwable failure = ((Failure<T>) tried).exception();
+            Option<Duration> delay = policy.nextDelay(failure, attempts, Duration.ofNanos(System.nanoTime() - start));
+            if (delay.isEmpty()) return tried;
+
+            try {
+                Thread.sleep(delay.get().toMillis(), delay.get().getNano() % 1_000_000);
+            } catch (InterruptedException interrupted) {
+                Thread.currentThread().interrupt();
+                return tried;
+            }
+        }
+    }
+
+    static <U, T> Try<T> applyThrowing(U v1, ThrowingFunction<U, T> fn) {
+        return Try.apply(v1, asDeescelatedFunction(fn)); }
+    static <U, T> Try<T> apply(U v1, Function<U, T> fn) {
+        return Try.apply(() -> fn.apply(v1));
+    }
+
+    /** Applies fn to every value and collects the results, stops at the first failure
+     *  @param values the values
+     *  @param fn the function that might fail
+     *  @param <A> type of the values
+     *  @param <B> type of the results
+     *  @return Success of all results in order, or the first Failure */
+    public static <A, B> Try<List<B>> traverse(List<A> values, Function<A, Try<B>> fn) {
+        List<B> results = new ArrayList<>(values.size());
+        for (A value : values) {
+            Try<B> result;
+            try {
+                result = fn.apply(value);
+            }
+            catch (VirtualMachineError | ThreadDeath | LinkageError fatal) { throw fatal; }
+            catch (Exception nonFatal) { return Failure.apply(nonFatal); }
+
+            if (!result.isSuccess()) {
+                @SuppressWarnings("unchecked") Try<List<B>> failure = (Try<List<B>>) result;
+                return failure;
+            }
+            results.add(result.get());
+        }
+        return Success.apply(results);
+    }
+
+    /** Turns a list of tries into a try of a list, stops at the first failure
+     *  @param tries the tries
+     *  @param <T> type of the values
+     *  @return Success of all values in order, or the first Failure */
+    public static <T> Try<List<T>> sequence(List<Try<T>> tries) {
+        return traverse(tries, Function.identity());
+    }
+
+    /** Same as traverse, but splits the values over the common fork join pool
+     *  @param values the values
+     *  @param fn the function that might fail, has to be safe to call from several threads at once
+     *  @param <A> type of the values
+     *  @param <B> type of the results
+     *  @return Success of all results in order, or a Failure */
+    public static <A, B> Try<List<B>> traverseParallel(List<A> values, Function<A, Try<B>> fn) {
+        return traverseParallel(values, fn, ForkJoinPool.commonPool());
+    }
+
+    /** Same as traverse, but splits the values over the given fork join pool
+     *  Once one of the splits fails, the others stop before their next value. Which failure you get if several
+     *  values fail at the same time is up to the scheduling, not to the order of the values
+     *  @param values the values
+     *  @param fn the function that might fail, has to be safe to call from several threads at once
+     *  @param pool the pool to run on
+     *  @param <A> type of the values
+     *  @param <B> type of the results
+     *  @return Success of all results in order, or a Failure */
+    public static <A, B> Try<List<B>> traverseParallel(List<A> values, Function<A, Try<B>> fn, ForkJoinPool pool) {
+        List<A> indexed = values instanceof RandomAccess ? values : new ArrayList<>(values);
+        Object[] results = new Object[indexed.size()];
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        int threshold = Math.max(1, results.length / (pool.getParallelism() * 8)); // a few chunks per thread to balance
+
+        pool.invoke(new ParallelTraversal<>(indexed, fn, results, failure, threshold, 0, results.length));
+
+        if (failure.get() != null) return Failure.apply(failure.get());
+        @SuppressWarnings("unchecked") List<B> list = (List<B>) new ArrayList<>(Arrays.asList(results)); // a plain ArrayList, like traverse
+        return Success.apply(list);
+    }
+
+    /** Sorts the tries into the values of the successes and the exceptions of the failures, in one pass
+     *  @param tries the tries
+     *  @param <T> type of the values
+     *  @return both, each in the order of the tries */
+    public static <T> Partition<T> partition(Iterable<Try<T>> tries) {
+        List<T> successes = new ArrayList<>();
+        List<Throwable> failures = new ArrayList<>();
+        for (Try<T> tried : tries) {
+            if (tried.isSuccess()) {
+                successes.add(tried.get());
+            } else failures.add(((Failure<T>) tried).exception());
+        }
+        return new Partition<>(successes, failures);
+    }
+
+    public abstract boolean isSuccess();
+
+    public static <T> Try<T> failed(Throwable e) { return Failure.apply(e); }
+    public static <T> Try<T> successful(T t) { return Success.apply(t); }
+
+    /** register a consumer that will be called with T on Success
+     *  @param consumer that takes T
+     *  @return this try for chaining */
+    public abstract Try<T> onSuccess(Consumer<T> consumer);
+
+    /** register a consumer that will be called with the Exception on Failure
+     *  @param exceptionConsumer that takes T
+     *  @return this try for chaining */
+    public abstract Try<T> onFailure(Consumer<Throwable> exceptionConsumer);
+
+    /** fail early, do not use this, always check if "isSuccess()" before
+     *  @return getBy the underling value */
+    public abstract T get();
+
+    /** @return practically invertes the result to Success(failure) or Failure(didn't fail) */
+    public abstract Try<Throwable> failed();
+
+    /** maps a function to the state value
+     *  @param fn the function to apply to the boxed value, must return R
+     *  @param <R> return type
+     *  @return the mapped try */
+    public abstract <R> Try<R> map(Function<T, R> fn);
+
+    /** maps a function to the state value without boxing its result
+     *  @param fn the function to apply to the boxed value
+     *  @return the mapped TryInt */
+    public TryInt mapToInt(ToIntFunction<T> fn) { return TryInt.fromTry(this, fn); }
+
+    /** maps a function to the state value without boxing its result
+     *  @param fn the function to apply to the boxed value
+     *  @return the mapped TryLong */
+    public TryLong mapToLong(ToLongFunction<T> fn) { return TryLong.fromTry(this, fn); }
+
+    /** maps a function to the state value without boxing its result
+     *  @param fn the function to apply to the boxed value
+     *  @return the mapped TryDouble */
+    public TryDouble mapToDouble(ToDoubleFunction<T> fn) { return TryDouble.fromTry(this, fn); }
+
+    /** This will take a function that returns another try and return just an try instead of an try[try]
+     *  @param fn the function to apply to the boxed value, must return Try of R
+     *  @param <R> return type
+     *  @return the mapped try */
+    public abstract <R> Try<R> flatMap(Function<T, Try<R>> fn);
+
+    /** Converts this to a Failure if the predicate is not satisfied.
+     * @param condition predicate
+     * @return the try */
+    public abstract Try<T> filter(Predicate<T> condition);
+
+    /** If this was a failure, return other instead
+     *  @param other the fallback
+     *  @return state or other */
+    public abstract T getOrElse(T other);
+
+    /** Applies the given function if this is a Failure, otherwise returns this if this is a Success.
+     *  This is supposed to be like map for the exception, but there is no lower type bounds in java
+     *  like <U super T> that would enable us to have this return a Try<U>
+     *  @param fn the fallback-callback
+     *  @return this or the result of the callback */
+    public abstract Try<T> recover(Function<Throwable, T> fn);
+
+    /** Applies the given function if this is a Failure, otherwise returns this if this is a Success.
+     *  This is like flatMap for the exception.
+     *
+     *  @param fn the fallback-callback
+     *  @return this or the result of the callback */
+    public abstract Try<T> recoverWith(Function<Throwable, Try<T>> fn);
+
+    /** Applies fa if this was a failure, applies fb if this was a success
+     *  @param fa the function to apply if this is a failure
+     *  @param fb the function to apply if this is a success
+     *  @param <U> return type
+     *  @return result of either fa or db */
+    public abstract <U> U fold(Function<Throwable, U> fa, Function<T, U> fb);
+
+    /** I have not found out how to supply evidence to this so use with caution
+     * @return the inner try */
+    public <U> Try<U> flatten() {
+        if (this.isSuccess() && this.get() instanceof Try) {
+            @SuppressWarnings("unchecked") Try<U> flattened = (Try<U>) this.get();
+            return flattened;
+        } else {
+            @SuppressWarnings("unchecked") Try<U> identity = (Try<U>) this;
+            return identity;
+        }
+    }
+
+    /** @return an Option of this, empty if failure */
+    public abstract Option<T> toOption();
+
+    /** @return either Left of the exception or right of the value */
+    public abstract Either<Throwable, T> toEither();
+
+    @Override public abstract String toString();
+}
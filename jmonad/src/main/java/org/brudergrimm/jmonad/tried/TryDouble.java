@@ -0,0 +1,189 @@
+package org.brudergrimm.jmonad.tried;
+
+import org.brudergrimm.jmonad.option.OptionDouble;
+import org.brudergrimm.jmonad.tried.function.ThrowingDoubleSupplier;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleSupplier;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.ToDoubleFunction;
+
+/** A Try of a primitive double, so numeric pipelines don't box on every step
+ *  Holds either the double or the exception, map and friends take the primitive functional interfaces and never box
+ *  Convert from and to Try with the mapping functions below, which don't box either */
+public final class TryDouble implements Serializable {
+    private final double value;
+    private final Throwable exception; // null if this is a success
+
+    private TryDouble(double value, Throwable exception) {
+        this.value = value;
+        this.exception = exception;
+    }
+
+    /** Constructs a TryDouble from your supplier that has a throws in it's signature
+     *  @param r the supplier that might fail with an exception
+     *  @return A TryDouble that might either be an exception or the supplied value  */
+    public static TryDouble applyThrowing(ThrowingDoubleSupplier r) {
+        try {
+            return successful(r.getAsDouble());
+        }
+        catch (VirtualMachineError | ThreadDeath | LinkageError fatal) { throw fatal; }
+        catch (Throwable e) { return failed(Failures.wrap(e)); }
+    }
+
+    /** Constructs a TryDouble from a supplier
+     *  @param f the supplier that might fail with an exception
+     *  @return A TryDouble that might either be an exception or the supplied value */
+    public static TryDouble apply(DoubleSupplier f) {
+        try {
+            return successful(f.getAsDouble());
+        }
+        catch (VirtualMachineError | ThreadDeath | LinkageError fatal) { throw fatal; }
+        catch (Exception nonFatal) { return failed(nonFatal); }
+    }
+
+    public static TryDouble successful(double value) { return new TryDouble(value, null); }
+    public static TryDouble failed(Throwable e) {
+        TryDouble failed = new TryDouble(0, Objects.requireNonNull(e, "exception")); // null would be a success
+        TryEvents.failure(e);
+        return failed;
+    }
+
+    /** Unboxes a Try, mapping its value to a double on the way
+     *  @param tried the try to convert
+     *  @param f turns the value into a double, may fail
+     *  @param <T> the boxed type
+     *  @return TryDouble of the result of f or the failure */
+    public static <T> TryDouble fromTry(Try<T> tried, ToDoubleFunction<T> f) {
+        if (!tried.isSuccess()) return new TryDouble(0, ((Failure<T>) tried).exception()); // already recorded as a Failure
+        try {
+            return successful(f.applyAsDouble(tried.get()));
+        }
+        catch (VirtualMachineError | ThreadDeath | LinkageError fatal) { throw fatal; }
+        catch (Exception nonFatal) { return failed(nonFatal); }
+    }
+
+    public boolean isSuccess() { return exception == null; }
+
+    /** fail early, do not use this, always check if "isSuccess()" before
+     *  @return getBy the underling value */
+    public double get() {
+        if (exception instanceof RuntimeException) throw (RuntimeException) exception;
+        if (exception instanceof Error) throw (Error) exception;
+        if (exception != null) throw Failures.wrap(exception);
+        return value;
+    }
+
+    /** @return practically invertes the result to Success(failure) or Failure(didn't fail) */
+    public Try<Throwable> failed() {
+        return exception != null
+                ? Success.apply(exception)
+                : Failure.apply(Failures.didNotFail());
+    }
+
+    public TryDouble onSuccess(DoubleConsumer consumer) {
+        if (exception == null) consumer.accept(value);
+        return this;
+    }
+
+    public TryDouble onFailure(Consumer<Throwable> exceptionConsumer) {
+        if (exception != null) exceptionConsumer.accept(exception);
+        return this;
+    }
+
+    /** maps a function to the state value
+     *  @param fn the function to apply to the value
+     *  @return the mapped TryDouble */
+    public TryDouble map(DoubleUnaryOperator fn) {
+        if (exception != null) return this;
+        try {
+            return successful(fn.applyAsDouble(value));
+        }
+        catch (VirtualMachineError | ThreadDeath | LinkageError fatal) { throw fatal; }
+        catch (Exception nonFatal) { return failed(nonFatal); }
+    }
+
+    /** This will take a function that returns another TryDouble and return just that one
+     *  @param fn the function to apply to the value
+     *  @return the mapped TryDouble */
+    public TryDouble flatMap(DoubleFunction<TryDouble> fn) {
+        if (exception != null) return this;
+        try {
+            return fn.apply(value);
+        }
+        catch (VirtualMachineError | ThreadDeath | LinkageError fatal) { throw fatal; }
+        catch (Exception nonFatal) { return failed(nonFatal); }
+    }
+
+    /** Converts this to a Failure if the predicate is not satisfied.
+     *  @param condition predicate
+     *  @return the TryDouble */
+    public TryDouble filter(DoublePredicate condition) {
+        if (exception != null || condition.test(value)) return this;
+        return failed(Failures.predicateMismatch(value));
+    }
+
+    /** If this was a failure, return other instead
+     *  @param other the fallback
+     *  @return state or other */
+    public double getOrElse(double other) { return exception == null ? value : other; }
+
+    /** Applies the given function if this is a Failure, otherwise returns this if this is a Success.
+     *  @param fn the fallback-callback
+     *  @return this or the result of the callback */
+    public TryDouble recover(ToDoubleFunction<Throwable> fn) {
+        if (exception == null) return this;
+        try {
+            return successful(fn.applyAsDouble(exception));
+        }
+        catch (VirtualMachineError | ThreadDeath | LinkageError fatal) { throw fatal; }
+        catch (Exception nonFatal) { return failed(nonFatal); }
+    }
+
+    /** Applies the given function if this is a Failure, otherwise returns this if this is a Success.
+     *  @param fn the fallback-callback
+     *  @return this or the result of the callback */
+    public TryDouble recoverWith(Function<Throwable, TryDouble> fn) {
+        return exception == null ? this : fn.apply(exception);
+    }
+
+    /** Applies fa if this was a failure, applies fb if this was a success
+     *  @param fa the function to apply if this is a failure
+     *  @param fb the function to apply if this is a success
+     *  @param <U> return type
+     *  @return result of either fa or db */
+    public <U> U fold(Function<Throwable, U> fa, DoubleFunction<U> fb) {
+        return exception == null ? fb.apply(value) : fa.apply(exception);
+    }
+
+    /** Converts to a Try of whatever fn makes of the value, without boxing the double itself
+     *  @param fn the function to apply to the value
+     *  @param <R> return type
+     *  @return the mapped try */
+    public <R> Try<R> mapToObj(DoubleFunction<R> fn) {
+        if (exception != null) return Failure.apply(exception);
+        return Try.apply(() -> fn.apply(value));
+    }
+
+    /** @return the boxed version of this */
+    public Try<Double> toTry() {
+        return exception == null ? Success.apply(value) : Failure.apply(exception);
+    }
+
+    /** @return an OptionDouble of this, empty if failure */
+    public OptionDouble toOption() {
+        return exception == null ? OptionDouble.apply(value) : OptionDouble.empty();
+    }
+
+    @Override public String toString() {
+        return exception == null
+                ? String.format("Success(%s)", value)
+                : String.format("Failure(%s)", exception.getMessage());
+    }
+}
@@ -0,0 +1,9 @@
+package org.brudergrimm.jmonad.tried;
+
+/* Flight recorder hooks for Try. There is no jdk.jfr before java 11, so this does nothing - the multi release jar
+replaces it with one that records events on 11+, see src/main/java11 */
+final class TryEvents {
+    private TryEvents() { }
+
+    static void failure(Throwable exception) { }
+}
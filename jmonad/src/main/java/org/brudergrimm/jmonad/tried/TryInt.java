@@ -0,0 +1,189 @@
+package org.brudergrimm.jmonad.tried;
+
+import org.brudergrimm.jmonad.option.OptionInt;
+import org.brudergrimm.jmonad.tried.function.ThrowingIntSupplier;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntSupplier;
+import java.util.function.IntUnaryOperator;
+import java.util.function.ToIntFunction;
+
+/** A Try of a primitive int, so numeric pipelines don't box on every step
+ *  Holds either the int or the exception, map and friends take the primitive functional interfaces and never box
+ *  Convert from and to Try with the mapping functions below, which don't box either */
+public final class TryInt implements Serializable {
+    private final int value;
+    private final Throwable exception; // null if this is a success
+
+    private TryInt(int value, Throwable exception) {
+        this.value = value;
+        this.exception = exception;
+    }
+
+    /** Constructs a TryInt from your supplier that has a throws in it's signature
+     *  @param r the supplier that might fail with an exception
+     *  @return A TryInt that might either be an exception or the supplied value  */
+    public static TryInt applyThrowing(ThrowingIntSupplier r) {
+        try {
+            return successful(r.getAsInt());
+        }
+        catch (VirtualMachineError | ThreadDeath | LinkageError fatal) { throw fatal; }
+        catch (Throwable e) { return failed(Failures.wrap(e)); }
+    }
+
+    /** Constructs a TryInt from a supplier
+     *  @param f the supplier that might fail with an exception
+     *  @return A TryInt that might either be an exception or the supplied value */
+    public static TryInt apply(IntSupplier f) {
+        try {
+            return successful(f.getAsInt());
+        }
+        catch (VirtualMachineError | ThreadDeath | LinkageError fatal) { throw fatal; }
+        catch (Exception nonFatal) { return failed(nonFatal); }
+    }
+
+    public static TryInt successful(int value) { return new TryInt(value, null); }
+    public static TryInt failed(Throwable e) {
+        TryInt failed = new TryInt(0, Objects.requireNonNull(e, "exception")); // null would be a success
+        TryEvents.failure(e);
+        return failed;
+    }
+
+    /** Unboxes a Try, mapping its value to a int on the way
+     *  @param tried the try to convert
+     *  @param f turns the value into a int, may fail
+     *  @param <T> the boxed type
+     *  @return TryInt of the result of f or the failure */
+    public static <T> TryInt fromTry(Try<T> tried, ToIntFunction<T> f) {
+        if (!tried.isSuccess()) return new TryInt(0, ((Failure<T>) tried).exception()); // already recorded as a Failure
+        try {
+            return successful(f.applyAsInt(tried.get()));
+        }
+        catch (VirtualMachineError | ThreadDeath | LinkageError fatal) { throw fatal; }
+        catch (Exception nonFatal) { return failed(nonFatal); }
+    }
+
+    public boolean isSuccess() { return exception == null; }
+
+    /** fail early, do not use this, always check if "isSuccess()" before
+     *  @return getBy the underling value */
+    public int get() {
+        if (exception instanceof RuntimeException) throw (RuntimeException) exception;
+        if (exception instanceof Error) throw (Error) exception;
+        if (exception != null) throw Failures.wrap(exception);
+        return value;
+    }
+
+    /** @return practically invertes the result to Success(failure) or Failure(didn't fail) */
+    public Try<Throwable> failed() {
+        return exception != null
+                ? Success.apply(exception)
+                : Failure.apply(Failures.didNotFail());
+    }
+
+    public TryInt onSuccess(IntConsumer consumer) {
+        if (exception == null) consumer.accept(value);
+        return this;
+    }
+
+    public TryInt onFailure(Consumer<Throwable> exceptionConsumer) {
+        if (exception != null) exceptionConsumer.accept(exception);
+        return this;
+    }
+
+    /** maps a function to the state value
+     *  @param fn the function to apply to the value
+     *  @return the mapped TryInt */
+    public TryInt map(IntUnaryOperator fn) {
+        if (exception != null) return this;
+        try {
+            return successful(fn.applyAsInt(value));
+        }
+        catch (VirtualMachineError | ThreadDeath | LinkageError fatal) { throw fatal; }
+        catch (Exception nonFatal) { return failed(nonFatal); }
+    }
+
+    /** This will take a function that returns another TryInt and return just that one
+     *  @param fn the function to apply to the value
+     *  @return the mapped TryInt */
+    public TryInt flatMap(IntFunction<TryInt> fn) {
+        if (exception != null) return this;
+        try {
+            return fn.apply(value);
+        }
+        catch (VirtualMachineError | ThreadDeath | LinkageError fatal) { throw fatal; }
+        catch (Exception nonFatal) { return failed(nonFatal); }
+    }
+
+    /** Converts this to a Failure if the predicate is not satisfied.
+     *  @param condition predicate
+     *  @return the TryInt */
+    public TryInt filter(IntPredicate condition) {
+        if (exception != null || condition.test(value)) return this;
+        return failed(Failures.predicateMismatch(value));
+    }
+
+    /** If this was a failure, return other instead
+     *  @param other the fallback
+     *  @return state or other */
+    public int getOrElse(int other) { return exception == null ? value : other; }
+
+    /** Applies the given function if this is a Failure, otherwise returns this if this is a Success.
+     *  @param fn the fallback-callback
+     *  @return this or the result of the callback */
+    public TryInt recover(ToIntFunction<Throwable> fn) {
+        if (exception == null) return this;
+        try {
+            return successful(fn.applyAsInt(exception));
+        }
+        catch (VirtualMachineError | ThreadDeath | LinkageError fatal) { throw fatal; }
+        catch (Exception nonFatal) { return failed(nonFatal); }
+    }
+
+    /** Applies the given function if this is a Failure, otherwise returns this if this is a Success.
+     *  @param fn the fallback-callback
+     *  @return this or the result of the callback */
+    public TryInt recoverWith(Function<Throwable, TryInt> fn) {
+        return exception == null ? this : fn.apply(exception);
+    }
+
+    /** Applies fa if this was a failure, applies fb if this was a success
+     *  @param fa the function to apply if this is a failure
+     *  @param fb the function to apply if this is a success
+     *  @param <U> return type
+     *  @return result of either fa or db */
+    public <U> U fold(Function<Throwable, U> fa, IntFunction<U> fb) {
+        return exception == null ? fb.apply(value) : fa.apply(exception);
+    }
+
+    /** Converts to a Try of whatever fn makes of the value, without boxing the int itself
+     *  @param fn the function to apply to the value
+     *  @param <R> return type
+     *  @return the mapped try */
+    public <R> Try<R> mapToObj(IntFunction<R> fn) {
+        if (exception != null) return Failure.apply(exception);
+        return Try.apply(() -> fn.apply(value));
+    }
+
+    /** @return the boxed version of this */
+    public Try<Integer> toTry() {
+        return exception == null ? Success.apply(value) : Failure.apply(exception);
+    }
+
+    /** @return an OptionInt of this, empty if failure */
+    public OptionInt toOption() {
+        return exception == null ? OptionInt.apply(value) : OptionInt.empty();
+    }
+
+    @Override public String toString() {
+        return exception == null
+                ? String.format("Success(%s)", value)
+                : String.format("Failure(%s)", exception.getMessage());
+    }
+}
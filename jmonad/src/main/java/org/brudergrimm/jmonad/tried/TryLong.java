@@ -0,0 +1,189 @@
+package org.brudergrimm.jmonad.tried;
+
+import org.brudergrimm.jmonad.option.OptionLong;
+import org.brudergrimm.jmonad.tried.function.ThrowingLongSupplier;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.function.LongSupplier;
+import java.util.function.LongUnaryOperator;
+import java.util.function.ToLongFunction;
+
+/** A Try of a primitive long, so numeric pipelines don't box on every step
+ *  Holds either the long or the exception, map and friends take the primitive functional interfaces and never box
+ *  Convert from and to Try with the mapping functions below, which don't box either */
+public final class TryLong implements Serializable {
+    private final long value;
+    private final Throwable exception; // null if this is a success
+
+    private TryLong(long value, Throwable exception) {
+        this.value = value;
+        this.exception = exception;
+    }
+
+    /** Constructs a TryLong from your supplier that has a throws in it's signature
+     *  @param r the supplier that might fail with an exception
+     *  @return A TryLong that might either be an exception or the supplied value  */
+    public static TryLong applyThrowing(ThrowingLongSupplier r) {
+        try {
+            return successful(r.getAsLong());
+        }
+        catch (VirtualMachineError | ThreadDeath | LinkageError fatal) { throw fatal; }
+        catch (Throwable e) { return failed(Failures.wrap(e)); }
+    }
+
+    /** Constructs a TryLong from a supplier
+     *  @param f the supplier that might fail with an exception
+     *  @return A TryLong that might either be an exception or the supplied value */
+    public static TryLong apply(LongSupplier f) {
+        try {
+            return successful(f.getAsLong());
+        }
+        catch (VirtualMachineError | ThreadDeath | LinkageError fatal) { throw fatal; }
+        catch (Exception nonFatal) { return failed(nonFatal); }
+    }
+
+    public static TryLong successful(long value) { return new TryLong(value, null); }
+    public static TryLong failed(Throwable e) {
+        TryLong failed = new TryLong(0, Objects.requireNonNull(e, "exception")); // null would be a success
+        TryEvents.failure(e);
+        return failed;
+    }
+
+    /** Unboxes a Try, mapping its value to a long on the way
+     *  @param tried the try to convert
+     *  @param f turns the value into a long, may fail
+     *  @param <T> the boxed type
+     *  @return TryLong of the result of f or the failure */
+    public static <T> TryLong fromTry(Try<T> tried, ToLongFunction<T> f) {
+        if (!tried.isSuccess()) return new TryLong(0, ((Failure<T>) tried).exception()); // already recorded as a Failure
+        try {
+            return successful(f.applyAsLong(tried.get()));
+        }
+        catch (VirtualMachineError | ThreadDeath | LinkageError fatal) { throw fatal; }
+        catch (Exception nonFatal) { return failed(nonFatal); }
+    }
+
+    public boolean isSuccess() { return exception == null; }
+
+    /** fail early, do not use this, always check if "isSuccess()" before
+     *  @return getBy the underling value */
+    public long get() {
+        if (exception instanceof RuntimeException) throw (RuntimeException) exception;
+        if (exception instanceof Error) throw (Error) exception;
+        if (exception != null) throw Failures.wrap(exception);
+        return value;
+    }
+
+    /** @return practically invertes the result to Success(failure) or Failure(didn't fail) */
+    public Try<Throwable> failed() {
+        return exception != null
+                ? Success.apply(exception)
+                : Failure.apply(Failures.didNotFail());
+    }
+
+    public TryLong onSuccess(LongConsumer consumer) {
+        if (exception == null) consumer.accept(value);
+        return this;
+    }
+
+    public TryLong onFailure(Consumer<Throwable> exceptionConsumer) {
+        if (exception != null) exceptionConsumer.accept(exception);
+        return this;
+    }
+
+    /** maps a function to the state value
+     *  @param fn the function to apply to the value
+     *  @return the mapped TryLong */
+    public TryLong map(LongUnaryOperator fn) {
+        if (exception != null) return this;
+        try {
+            return successful(fn.applyAsLong(value));
+        }
+        catch (VirtualMachineError | ThreadDeath | LinkageError fatal) { throw fatal; }
+        catch (Exception nonFatal) { return failed(nonFatal); }
+    }
+
+    /** This will take a function that returns another TryLong and return just that one
+     *  @param fn the function to apply to the value
+     *  @return the mapped TryLong */
+    public TryLong flatMap(LongFunction<TryLong> fn) {
+        if (exception != null) return this;
+        try {
+            return fn.apply(value);
+        }
+        catch (VirtualMachineError | ThreadDeath | LinkageError fatal) { throw fatal; }
+        catch (Exception nonFatal) { return failed(nonFatal); }
+    }
+
+    /** Converts this to a Failure if the predicate is not satisfied.
+     *  @param condition predicate
+     *  @return the TryLong */
+    public TryLong filter(LongPredicate condition) {
+        if (exception != null || condition.test(value)) return this;
+        return failed(Failures.predicateMismatch(value));
+    }
+
+    /** If this was a failure, return other instead
+     *  @param other the fallback
+     *  @return state or other */
+    public long getOrElse(long other) { return exception == null ? value : other; }
+
+    /** Applies the given function if this is a Failure, otherwise returns this if this is a Success.
+     *  @param fn the fallback-callback
+     *  @return this or the result of the callback */
+    public TryLong recover(ToLongFunction<Throwable> fn) {
+        if (exception == null) return this;
+        try {
+            return successful(fn.applyAsLong(exception));
+        }
+        catch (VirtualMachineError | ThreadDeath | LinkageError fatal) { throw fatal; }
+        catch (Exception nonFatal) { return failed(nonFatal); }
+    }
+
+    /** Applies the given function if this is a Failure, otherwise returns this if this is a Success.
+     *  @param fn the fallback-callback
+     *  @return this or the result of the callback */
+    public TryLong recoverWith(Function<Throwable, TryLong> fn) {
+        return exception == null ? this : fn.apply(exception);
+    }
+
+    /** Applies fa if this was a failure, applies fb if this was a success
+     *  @param fa the function to apply if this is a failure
+     *  @param fb the function to apply if this is a success
+     *  @param <U> return type
+     *  @return result of either fa or db */
+    public <U> U fold(Function<Throwable, U> fa, LongFunction<U> fb) {
+        return exception == null ? fb.apply(value) : fa.apply(exception);
+    }
+
+    /** Converts to a Try of whatever fn makes of the value, without boxing the long itself
+     *  @param fn the function to apply to the value
+     *  @param <R> return type
+     *  @return the mapped try */
+    public <R> Try<R> mapToObj(LongFunction<R> fn) {
+        if (exception != null) return Failure.apply(exception);
+        return Try.apply(() -> fn.apply(value));
+    }
+
+    /** @return the boxed version of this */
+    public Try<Long> toTry() {
+        return exception == null ? Success.apply(value) : Failure.apply(exception);
+    }
+
+    /** @return an OptionLong of this, empty if failure */
+    public OptionLong toOption() {
+        return exception == null ? OptionLong.apply(value) : OptionLong.empty();
+    }
+
+    @Override public String toString() {
+        return exception == null
+                ? String.format("Success(%s)", value)
+                : String.format("Failure(%s)", exception.getMessage());
+    }
+}
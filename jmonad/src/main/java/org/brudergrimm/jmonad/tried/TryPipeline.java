@@ -0,0 +1,163 @@
+package org.brudergrimm.jmonad.tried;
+
+import org.brudergrimm.jmonad.tried.function.ThrowingFunction;
+
+import java.util.Arrays;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static org.brudergrimm.jmonad.tried.Deescelator.asDeescelatedFunction;
+
+/** A chain of Try operations that is put together once and then applied to as many inputs as you like
+ *  Instead of allocating a Success or Failure per step, applying runs all steps in one loop with one try catch around
+ *  it and only creates the Try that it returns. Pipelines are immutable, so you can share them between threads
+ *
+ *  <pre>{@code
+ *  TryPipeline<String, Integer> parse = TryPipeline.<String>identity()
+ *      .map(String::trim)
+ *      .map(Integer::parseInt)
+ *      .filter(i -> i > 0)
+ *      .recover(exception -> 0);
+ *
+ *  Try<Integer> result = parse.apply(" 42 ");
+ *  }</pre>
+ *
+ *  Any non fatal exception thrown by a step becomes the failure, just like Try.apply would
+ *  @param <A> the input type
+ *  @param <B> the type of the value in the resulting Try */
+public final class TryPipeline<A, B> implements Function<A, Try<B>> {
+    private static final int MAP = 0;
+    private static final int FLAT_MAP = 1;
+    private static final int FILTER = 2;
+    private static final int RECOVER = 3;
+    private static final int RECOVER_WITH = 4;
+
+    private static final TryPipeline<?, ?> identity = new TryPipeline<>(new int[0], new Object[0]);
+
+    private final int[] kinds;
+    private final Object[] steps;
+
+    private TryPipeline(int[] kinds, Object[] steps) {
+        this.kinds = kinds;
+        this.steps = steps;
+    }
+
+    /** @param <A> the input type
+     *  @return the pipeline that hands back its input as a Success, start building from here */
+    public static <A> TryPipeline<A, A> identity() {
+        @SuppressWarnings("unchecked") TryPipeline<A, A> empty = (TryPipeline<A, A>) identity;
+        return empty;
+    }
+
+    private <C> TryPipeline<A, C> append(int kind, Object step) {
+        int[] nextKinds = Arrays.copyOf(kinds, kinds.length + 1);
+        Object[] nextSteps = Arrays.copyOf(steps, steps.length + 1);
+        nextKinds[kinds.length] = kind;
+        nextSteps[steps.length] = step;
+        return new TryPipeline<>(nextKinds, nextSteps);
+    }
+
+    /** @param fn the function to apply to the value, must return C
+     *  @param <C> return type
+     *  @return this pipeline followed by a map */
+    public <C> TryPipeline<A, C> map(Function<B, C> fn) {
+        return append(MAP, fn);
+    }
+
+    /** @param fn the function to apply to the value, which has a throws in it's signature
+     *  @param <C> return type
+     *  @return this pipeline followed by a map */
+    public <C> TryPipeline<A, C> mapThrowing(ThrowingFunction<B, C> fn) {
+        return append(MAP, asDeescelatedFunction(fn));
+    }
+
+    /** @param fn the function to apply to the value, must return Try of C
+     *  @param <C> return type
+     *  @return this pipeline followed by a flatMap */
+    public <C> TryPipeline<A, C> flatMap(Function<B, Try<C>> fn) {
+        return append(FLAT_MAP, fn);
+    }
+
+    /** @param condition predicate
+     *  @return this pipeline followed by a filter */
+    public TryPipeline<A, B> filter(Predicate<B> condition) {
+        return append(FILTER, condition);
+    }
+
+    /** @param fn the fallback-callback
+     *  @return this pipeline followed by a recover */
+    public TryPipeline<A, B> recover(Function<Throwable, B> fn) {
+        return append(RECOVER, fn);
+    }
+
+    /** @param fn the fallback-callback
+     *  @return this pipeline followed by a recoverWith */
+    public TryPipeline<A, B> recoverWith(Function<Throwable, Try<B>> fn) {
+        return append(RECOVER_WITH, fn);
+    }
+
+    /** @param next the pipeline to run on the result of this one
+     *  @param <C> the type of the value in the Try of the next pipeline
+     *  @return one pipeline running the steps of both */
+    public <C> TryPipeline<A, C> then(TryPipeline<B, C> next) {
+        int[] nextKinds = Arrays.copyOf(kinds, kinds.length + next.kinds.length);
+        Object[] nextSteps = Arrays.copyOf(steps, steps.length + next.steps.length);
+        System.arraycopy(next.kinds, 0, nextKinds, kinds.length, next.kinds.length);
+        System.arraycopy(next.steps, 0, nextSteps, steps.length, next.steps.length);
+        return new TryPipeline<>(nextKinds, nextSteps);
+    }
+
+    /** Runs all steps on the input
+     *  @param input the value to start with
+     *  @return Success of what the steps made of the input, or Failure of whatever went wrong and wasn't recovered */
+    @SuppressWarnings("unchecked")
+    @Override public Try<B> apply(A input) {
+        Object value = input;
+        Throwable failure = null;
+
+        int i = 0;
+        while (i < kinds.length) {
+            try {
+                for (; i < kinds.length; i++) {
+                    if (failure == null) {
+                        switch (kinds[i]) {
+                            case MAP:
+                                value = ((Function<Object, Object>) steps[i]).apply(value);
+                                break;
+                            case FLAT_MAP:
+                                Try<Object> mapped = ((Function<Object, Try<Object>>) steps[i]).apply(value);
+                                if (mapped.isSuccess()) {
+                                    value = mapped.get();
+                                } else failure = ((Failure<Object>) mapped).exception();
+                                break;
+                            case FILTER:
+                                if (!((Predicate<Object>) steps[i]).test(value)) failure = Failures.predicateMismatch(value);
+                                break;
+                            default: // nothing to recover from
+                        }
+                    } else switch (kinds[i]) {
+                        case RECOVER:
+                            value = ((Function<Throwable, Object>) steps[i]).apply(failure);
+                            failure = null;
+                            break;
+                        case RECOVER_WITH:
+                            Try<Object> recovered = ((Function<Throwable, Try<Object>>) steps[i]).apply(failure);
+                            if (recovered.isSuccess()) {
+                                value = recovered.get();
+                                failure = null;
+                            } else failure = ((Failure<Object>) recovered).exception();
+                            break;
+                        default: // failures skip everything but the recovers
+                    }
+                }
+            }
+            catch (VirtualMachineError | ThreadDeath | LinkageError fatal) { throw fatal; }
+            catch (Exception nonFatal) {
+                failure = nonFatal;
+                i++; // carry on with the step after the one that threw, a recover might still come
+            }
+        }
+
+        return failure == null ? Success.apply((B) value) : Failure.apply(failure);
+    }
+}
@@ -0,0 +1,14 @@
+package org.brudergrimm.jmonad.tried;
+
+/* What checked exceptions get wrapped in to pass through non throwing functional interfaces
+The message is the causes, but only built when asked for. Without a writable stack trace we skip walking the stack,
+the cause carries the interesting one anyway */
+final class WrappedException extends RuntimeException {
+    WrappedException(Throwable cause, boolean writableStackTrace) {
+        super(null, cause, true, writableStackTrace);
+    }
+
+    @Override public String getMessage() {
+        return getCause() == null ? null : getCause().toString();
+    }
+}
@@ -0,0 +1,6 @@
+package org.brudergrimm.jmonad.tried.function;
+
+@FunctionalInterface
+public interface ThrowingIntSupplier {
+    int getAsInt() throws Throwable;
+}
@@ -0,0 +1,6 @@
+package org.brudergrimm.jmonad.tried.function;
+
+@FunctionalInterface
+public interface ThrowingLongSupplier {
+    long getAsLong() throws Throwable;
+}
@@ -0,0 +1,14 @@
+package org.brudergrimm.jmonad.future;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("org.brudergrimm.jmonad.FutureAwait")
+@Label("Future Await")
+@Category({ "jmonad", "Future" })
+final class FutureAwaitEvent extends Event {
+    @Label("Completed")
+    boolean completed;
+}
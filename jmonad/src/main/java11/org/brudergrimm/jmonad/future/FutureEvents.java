@@ -0,0 +1,61 @@
+package org.brudergrimm.jmonad.future;
+
+import jdk.jfr.EventType;
+import org.brudergrimm.jmonad.future.FutureMetrics.Stage;
+
+import java.util.concurrent.CompletableFuture;
+
+/* Records flight recorder events while a recording has them enabled
+A stage event lasts as long as the stage ran, a sequence event until all of its futures are in and an await event
+as long as the caller was blocked */
+final class FutureEvents {
+    private static final EventType STAGE = EventType.getEventType(FutureStageEvent.class);
+    private static final EventType SEQUENCE = EventType.getEventType(FutureSequenceEvent.class);
+    private static final EventType AWAIT = EventType.getEventType(FutureAwaitEvent.class);
+
+    private FutureEvents() { }
+
+    static boolean stagesEnabled() { return STAGE.isEnabled(); }
+
+    static Object stageBegin(Stage stage, long queuedNanos) {
+        if (!STAGE.isEnabled()) return null;
+        FutureStageEvent event = new FutureStageEvent();
+        event.stage = stage.name();
+        event.queued = queuedNanos;
+        event.begin();
+        return event;
+    }
+
+    static void stageEnd(Object begun, boolean failed) {
+        if (begun == null) return;
+        FutureStageEvent event = (FutureStageEvent) begun;
+        event.failed = failed;
+        event.commit();
+    }
+
+    static void sequence(CompletableFuture<?> aggregate, int size, boolean failFast) {
+        if (!SEQUENCE.isEnabled()) return;
+        FutureSequenceEvent event = new FutureSequenceEvent();
+        event.size = size;
+        event.failFast = failFast;
+        event.begin();
+        aggregate.whenComplete((value, failure) -> {
+            event.failed = failure != null;
+            event.commit();
+        });
+    }
+
+    static Object awaitBegin() {
+        if (!AWAIT.isEnabled()) return null;
+        FutureAwaitEvent event = new FutureAwaitEvent();
+        event.begin();
+        return event;
+    }
+
+    static void awaitEnd(Object begun, boolean completed) {
+        if (begun == null) return;
+        FutureAwaitEvent event = (FutureAwaitEvent) begun;
+        event.completed = completed;
+        event.commit();
+    }
+}
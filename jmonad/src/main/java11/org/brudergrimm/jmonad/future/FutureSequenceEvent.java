@@ -0,0 +1,20 @@
+package org.brudergrimm.jmonad.future;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("org.brudergrimm.jmonad.FutureSequence")
+@Label("Future Sequence")
+@Category({ "jmonad", "Future" })
+final class FutureSequenceEvent extends Event {
+    @Label("Size")
+    int size;
+
+    @Label("Fail Fast")
+    boolean failFast;
+
+    @Label("Failed")
+    boolean failed;
+}
@@ -0,0 +1,24 @@
+package org.brudergrimm.jmonad.future;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("org.brudergrimm.jmonad.FutureStage")
+@Label("Future Stage")
+@Category({ "jmonad", "Future" })
+@StackTrace(false)
+final class FutureStageEvent extends Event {
+    @Label("Stage")
+    String stage;
+
+    @Label("Queued")
+    @Timespan(Timespan.NANOSECONDS)
+    long queued;
+
+    @Label("Failed")
+    boolean failed;
+}
@@ -0,0 +1,29 @@
+package org.brudergrimm.jmonad.tried;
+
+import jdk.jfr.EventType;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/* Records a TryFailureEvent for one in every jmonad.jfr.failureSampleRate (16 by default) Failures while a recording
+has the event enabled. Walking the stack for the capture site is what costs, so only sampled failures do it */
+final class TryEvents {
+    private static final int SAMPLE_RATE = Math.max(1, Integer.getInteger("jmonad.jfr.failureSampleRate", 16));
+    private static final EventType FAILURE = EventType.getEventType(TryFailureEvent.class);
+    private static final StackWalker walker = StackWalker.getInstance();
+
+    private TryEvents() { }
+
+    static void failure(Throwable exception) {
+        if (!FAILURE.isEnabled() || ThreadLocalRandom.current().nextInt(SAMPLE_RATE) != 0) return;
+
+        TryFailureEvent event = new TryFailureEvent();
+        event.exceptionClass = exception == null ? null : exception.getClass();
+        event.site = walker.walk(frames -> frames
+                .filter(frame -> !frame.getClassName().startsWith("org.brudergrimm.jmonad."))
+                .findFirst()
+                .map(frame -> frame.getClassName() + "." + frame.getMethodName() + ":" + frame.getLineNumber())
+                .orElse(null));
+        event.sampleRate = SAMPLE_RATE;
+        event.commit();
+    }
+}
@@ -0,0 +1,25 @@
+package org.brudergrimm.jmonad.tried;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("org.brudergrimm.jmonad.TryFailure")
+@Label("Try Failure")
+@Category({ "jmonad", "Try" })
+@Description("A sample of the Failures created, one in every sampleRate")
+@StackTrace(false)
+final class TryFailureEvent extends Event {
+    @Label("Exception Class")
+    Class<?> exceptionClass;
+
+    @Label("Capture Site")
+    @Description("The first frame outside of the library that created the Failure")
+    String site;
+
+    @Label("Sample Rate")
+    int sampleRate;
+}
@@ -0,0 +1,15 @@
+package org.brudergrimm.jmonad.future;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/* Every blocking supplier gets its own virtual thread, which unmounts from its carrier while it waits */
+final class BlockingExecutors {
+    private BlockingExecutors() { }
+
+    static Executor create() {
+        return Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("jmonad-blocking-", 0).factory()
+        );
+    }
+}
@@ -0,0 +1,124 @@
+package org.brudergrimm.jmonad.either;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EitherTest {
+    @Test void testConstruct() {
+        Either<Integer, String> either1 = Right.apply("String");
+        Either<Integer, String> either2 = Left.apply(5);
+
+        assertTrue(either1.isRight());
+        assertTrue(either2.isLeft());
+        assertFalse(either1.isLeft());
+        assertFalse(either2.isRight());
+    }
+
+    @Test void testProjections() {
+        Either<Integer, String> left = Left.apply(5);
+        Either<Integer, String> right = Right.apply("String");
+
+        Either<Integer, String> doubledLeft = left.left().map(a -> a * 2);
+        Either<Integer, String> unchangedLeft = left.right().map(String::toLowerCase);
+
+        Either<Integer, String> upperRight = right.right().map(String::toUpperCase);
+        Either<Integer, String> unchangedRight = right.left().map(a -> a * 3);
+
+        assertEquals(10, doubledLeft.left().get());
+        assertThrows(NoSuchElementException.class, () -> unchangedLeft.right().get());
+
+        assertEquals("STRING", upperRight.right().get());
+        assertThrows(NoSuchElementException.class, () -> unchangedRight.left().get());
+    }
+
+    @Test void fold() {
+        Either<Integer, String> right = Right.apply("5");
+        Either<Integer, String> left = Left.apply(5);
+
+        Function<String, Double> convertsRight = Double::valueOf;
+        Function<Integer, Double> doublesLeft = i -> Double.parseDouble(i.toString() + "d") * 2;
+
+        Double fromRight = right.fold(doublesLeft, convertsRight);
+        Double fromLeft = left.fold(doublesLeft, convertsRight);
+
+        assertEquals( 5, fromRight);
+        assertEquals(10, fromLeft);
+    }
+
+    @Test void testRightBiased() {
+        Either<String, Integer> right = Right.apply(21);
+        Either<String, Integer> left = Left.apply("error");
+
+        assertEquals(42, right.map(i -> i * 2).getOrElse(0));
+        assertSame(left, left.map(i -> i * 2));
+        assertEquals(22, right.flatMap(i -> Right.<String, Integer>apply(i + 1)).getOrElse(0));
+        assertTrue(right.flatMap(i -> Left.<String, Integer>apply("nope")).isLeft());
+        assertEquals(0, left.getOrElse(0));
+
+        assertEquals("too small", right.filterOrElse(i -> i > 100, () -> "too small").swap().getOrElse(""));
+        assertSame(right, right.filterOrElse(i -> i > 0, () -> "too small"));
+        assertEquals("ERROR", left.mapLeft(String::toUpperCase).swap().getOrElse(""));
+        assertSame(right, right.mapLeft(String::toUpperCase));
+
+        assertEquals(21, right.toOption().get());
+        assertTrue(left.toOption().isEmpty());
+    }
+
+    @Test void testValidatedAccumulates() {
+        Validated<String, String> name = Valid.apply("Jakob");
+        Validated<String, Integer> age = Invalid.apply("age must be positive");
+        Validated<String, String> mail = Invalid.apply("mail needs an @");
+
+        Validated<String, String> both = Validated.mapN(name, age, (n, a) -> n + a);
+        Validated<String, String> all = Validated.mapN(name, age, mail, (n, a, m) -> n + a + m);
+        Validated<String, String> valid = Validated.mapN(name, Valid.<String, Integer>apply(30), (n, a) -> n + a);
+
+        assertEquals(Arrays.asList("age must be positive"), ((Invalid<String, String>) both).errors());
+        assertEquals(Arrays.asList("age must be positive", "mail needs an @"), ((Invalid<String, String>) all).errors());
+        assertEquals("Jakob30", valid.getOrElse(""));
+        assertEquals(Arrays.asList("mail needs an @"), mail.toEither().left().get());
+        assertTrue(Validated.fromEither(Left.<String, Integer>apply("nope")).isInvalid());
+        assertSame(age, age.map(a -> a + 1));
+    }
+
+    @Test void testValidatedChainedZipsStayFlat() {
+        Validated<String, Integer> chained = Invalid.apply("first");
+        for (int i = 0; i < 100000; i++) chained = chained.zip(Valid.<String, Integer>apply(i), Integer::sum);
+
+        // every zip wrapping the previous list would make this recurse a hundred thousand wrappers deep
+        List<String> errors = ((Invalid<String, Integer>) chained).errors();
+        assertEquals("first", errors.get(0));
+        assertThrows(UnsupportedOperationException.class, () -> errors.add("more"));
+    }
+
+    @Test void testValidatedParallel() {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Supplier<Validated<String, Integer>>> checks = Arrays.asList(
+                    () -> Valid.apply(1),
+                    () -> Invalid.apply("second"),
+                    () -> Valid.apply(3),
+                    () -> Invalid.apply("fourth"));
+            Validated<String, List<Integer>> result = Validated.parallel(checks, executor).await(Duration.ofSeconds(5)).get();
+
+            assertEquals(Arrays.asList("second", "fourth"), ((Invalid<String, List<Integer>>) result).errors());
+
+            Validated<String, List<Integer>> valid = Validated.parallel(
+                    Arrays.<Supplier<Validated<String, Integer>>>asList(() -> Valid.apply(1), () -> Valid.apply(2)),
+                    executor).await(Duration.ofSeconds(5)).get();
+            assertEquals(Arrays.asList(1, 2), valid.getOrElse(null));
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,745 @@
+package org.brudergrimm.jmonad.future;
+
+import org.brudergrimm.jmonad.tried.RetryPolicy;
+import org.brudergrimm.jmonad.tried.Try;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FutureTest {
+    private static final Duration timeout = Duration.ofSeconds(5);
+
+    private ExecutorService named;
+    private Executor previousDefault;
+
+    @BeforeEach void construct() {
+        named = Executors.newSingleThreadExecutor(task -> new Thread(task, "named-pool"));
+        previousDefault = Future.defaultExecutor();
+    }
+
+    @AfterEach void destruct() {
+        Future.setDefaultExecutor(previousDefault);
+        Future.setMetrics(FutureMetrics.NONE);
+        named.shutdownNow();
+    }
+
+    @Test void testApply() {
+        Future<Integer> eventual = Future.apply(() -> 5).map(i -> i * 2);
+        assertEquals(10, eventual.await(timeout).get());
+    }
+
+    @Test void testApplyOnExecutor() {
+        Future<String> thread = Future.apply(() -> Thread.currentThread().getName(), named);
+        assertEquals("named-pool", thread.await(timeout).get());
+    }
+
+    @Test void testMapOn() {
+        Future<String> thread = Future.apply(() -> 5)
+                .mapOn(i -> Thread.currentThread().getName(), named);
+        assertEquals("named-pool", thread.await(timeout).get());
+
+        Future<String> fromSuccessful = Successful.apply(5)
+                .mapOn(i -> Thread.currentThread().getName(), named);
+        assertEquals("named-pool", fromSuccessful.await(timeout).get());
+    }
+
+    @Test void testFlatMapOn() {
+        Future<String> thread = Future.apply(() -> 5)
+                .flatMapOn(i -> Successful.apply(Thread.currentThread().getName()), named);
+        assertEquals("named-pool", thread.await(timeout).get());
+
+        Future<String> fromSuccessful = Successful.apply(5)
+                .flatMapOn(i -> Successful.apply(Thread.currentThread().getName()), named);
+        assertEquals("named-pool", fromSuccessful.await(timeout).get());
+    }
+
+    @Test void testDefaultExecutor() {
+        Future.setDefaultExecutor(named);
+
+        Future<String> thread = Future.apply(() -> Thread.currentThread().getName());
+        assertEquals("named-pool", thread.await(timeout).get());
+    }
+
+    @Test void testApplyBlocking() {
+        Future<String> thread = Future.applyBlocking(() -> Thread.currentThread().getName());
+        assertTrue(thread.await(timeout).get().startsWith("jmonad-blocking-"));
+    }
+
+    @Test void testRejectingExecutor() {
+        Future<Integer> rejected = Future.apply(() -> 5, task -> {
+            throw new RejectedExecutionException("full");
+        });
+
+        Try<Integer> result = rejected.await(timeout);
+        assertFalse(result.isSuccess());
+        assertTrue(rejected.isCompleted());
+    }
+
+    @Test void testCompletedMapRunsInline() {
+        Thread caller = Thread.currentThread();
+
+        Future<Thread> fromSuccessful = Successful.apply(5).map(i -> Thread.currentThread());
+        assertTrue(fromSuccessful.isCompleted());
+        assertSame(caller, fromSuccessful.await(timeout).get());
+
+        Future<Integer> promise = Future.apply(() -> 5);
+        promise.await(timeout);
+        Future<Thread> fromPromise = promise.flatMap(i -> Successful.apply(Thread.currentThread()));
+        assertTrue(fromPromise.isCompleted());
+        assertSame(caller, fromPromise.await(timeout).get());
+    }
+
+    @Test void testCompletedMapFailure() {
+        Future<Integer> failed = Successful.apply(5).map(i -> {
+            throw new IllegalStateException("expected");
+        });
+
+        assertTrue(failed.isCompleted());
+        assertFalse(failed.await(timeout).isSuccess());
+    }
+
+    @Test void testDeepInlineRecursion() {
+        assertEquals(100000, countTo(Successful.apply(0), 100000).await(Duration.ofSeconds(30)).get());
+    }
+
+    private Future<Integer> countTo(Future<Integer> current, int limit) {
+        return current.flatMap(i -> i >= limit ? Successful.apply(i) : countTo(Successful.apply(i + 1), limit));
+    }
+
+    @Test void testSequence() {
+        Future<List<Integer>> all = Future.sequence(
+                Future.apply(() -> 1),
+                Successful.apply(2),
+                Future.apply(() -> 3)
+        );
+
+        assertEquals(Arrays.asList(1, 2, 3), all.await(timeout).get());
+        assertEquals(6, all.map(l -> l.stream().mapToInt(i -> i).sum()).await(timeout).get());
+
+        List<Integer> results = all.await(timeout).get();
+        results.add(4); // still a plain ArrayList, like it always was
+        assertEquals(4, results.size());
+    }
+
+    @Test void testSequenceFailure() {
+        Future<List<Integer>> all = Future.sequence(
+                Future.apply(() -> 1),
+                Failed.apply(new IllegalStateException("expected"))
+        );
+
+        assertFalse(all.await(timeout).isSuccess());
+    }
+
+    @Test void testLargeSequence() {
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            int value = i;
+            futures.add(i % 2 == 0 ? Future.apply(() -> value) : Successful.apply(value));
+        }
+
+        List<Integer> results = Future.sequence(futures).await(timeout).get();
+        assertEquals(10000, results.size());
+        for (int i = 0; i < results.size(); i++) assertEquals(i, results.get(i));
+    }
+
+    @Test void testEmptySequence() {
+        Future<List<Integer>> none = Future.sequence(Collections.emptyList());
+
+        assertTrue(none.isCompleted());
+        assertTrue(none.value().get().get().isEmpty());
+        none.value().get().get().add(1);
+    }
+
+    @Test void testFailedValue() {
+        Future<List<Integer>> failed = Future.sequence(Failed.apply(new IllegalStateException("expected")));
+
+        assertTrue(failed.isCompleted());
+        assertFalse(failed.value().get().isSuccess());
+        assertTrue(failed.value().get().failed().get() instanceof IllegalStateException); // not the CompletionException around it
+
+        Future<Integer> mapped = Future.apply(() -> 1, named).map(i -> { throw new IllegalArgumentException("expected"); });
+        assertThrows(CompletionException.class, () -> mapped.toJavaFuture().join());
+        assertTrue(mapped.value().get().failed().get() instanceof IllegalArgumentException);
+    }
+
+    @Test void testSequenceFailFast() {
+        CountDownLatch release = new CountDownLatch(1);
+        Future<Integer> slow = Future.apply(() -> {
+            try { release.await(); } catch (InterruptedException ignored) { }
+            return 1;
+        }, named);
+        Future<Integer> queued = Future.apply(() -> 2, named); // stuck behind slow on the single thread
+
+        Future<List<Integer>> all = Future.sequenceFailFast(
+                slow,
+                queued,
+                Future.apply(() -> { throw new IllegalStateException("expected"); })
+        );
+
+        assertFalse(all.await(timeout).isSuccess()); // doesn't wait for slow
+        assertTrue(queued.toJavaFuture().isCancelled());
+        release.countDown();
+    }
+
+    @Test void testSequenceFailFastInterruptsRunningSiblings() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        Future<Integer> running = Future.apply(() -> {
+            started.countDown();
+            try {
+                new CountDownLatch(1).await(); // only an interrupt gets us out of here
+            } catch (InterruptedException e) { interrupted.countDown(); }
+            return 1;
+        }, named);
+
+        Future<List<Integer>> all = Future.sequenceFailFast(
+                running,
+                Future.apply(() -> {
+                    try { started.await(); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+                    throw new IllegalStateException("expected");
+                })
+        );
+
+        assertFalse(all.await(timeout).isSuccess());
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        assertTrue(running.isCancelled());
+    }
+
+    @Test void testWithin() {
+        CountDownLatch release = new CountDownLatch(1);
+        Future<Integer> slow = Future.apply(() -> {
+            try { release.await(); } catch (InterruptedException ignored) { }
+            return 1;
+        }, named);
+
+        Future<Integer> timedOut = slow.within(Duration.ofMillis(20));
+        assertFalse(timedOut.await(timeout).isSuccess());
+        CompletionException failure = assertThrows(CompletionException.class, () -> timedOut.toJavaFuture().join());
+        assertTrue(failure.getCause() instanceof TimeoutException);
+
+        release.countDown();
+        assertEquals(1, slow.within(Duration.ofSeconds(5)).await(timeout).get());
+    }
+
+    @Test void testCompleteOnTimeout() {
+        CountDownLatch release = new CountDownLatch(1);
+        Future<Integer> slow = Future.apply(() -> {
+            try { release.await(); } catch (InterruptedException ignored) { }
+            return 1;
+        }, named);
+
+        assertEquals(42, slow.completeOnTimeout(42, Duration.ofMillis(20)).await(timeout).get());
+        release.countDown();
+        assertEquals(1, Future.apply(() -> 1).completeOnTimeout(42, Duration.ofSeconds(5)).await(timeout).get());
+    }
+
+    @Test void testTimeoutsCompleteOffTheTimerThread() {
+        Future.setDefaultExecutor(named);
+        Future<Integer> never = new DefaultPromise<>(new CompletableFuture<>());
+
+        CompletableFuture<String> fallback = never.completeOnTimeout(42, Duration.ofMillis(20)).toJavaFuture()
+                .thenApply(value -> Thread.currentThread().getName());
+        CompletableFuture<String> failure = never.within(Duration.ofMillis(20)).toJavaFuture()
+                .handle((value, throwable) -> Thread.currentThread().getName());
+
+        assertEquals("named-pool", fallback.join());
+        assertEquals("named-pool", failure.join());
+    }
+
+    @Test void testManyTimeouts() {
+        List<Future<Integer>> bounded = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            bounded.add(new DefaultPromise<Integer>(new CompletableFuture<>()).completeOnTimeout(i, Duration.ofMillis(i % 100)));
+        }
+
+        List<Integer> results = Future.sequence(bounded).await(timeout).get();
+        for (int i = 0; i < results.size(); i++) assertEquals(i, results.get(i));
+    }
+
+    @Test void testTraverse() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger mostRunning = new AtomicInteger();
+        List<Integer> input = IntStream.range(0, 200).boxed().collect(Collectors.toList());
+
+        Future<List<Integer>> doubled = Future.traverse(input, i -> Future.apply(() -> {
+            mostRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try { Thread.sleep(1); } catch (InterruptedException ignored) { }
+            running.decrementAndGet();
+            return i * 2;
+        }), 4);
+
+        List<Integer> results = doubled.await(timeout).get();
+        for (int i = 0; i < input.size(); i++) assertEquals(i * 2, results.get(i));
+        assertTrue(mostRunning.get() <= 4);
+    }
+
+    @Test void testTraverseCompletedStream() {
+        AtomicInteger closed = new AtomicInteger();
+        Future<List<Integer>> all = Future.traverse(IntStream.range(0, 500000).boxed().onClose(closed::incrementAndGet),
+                Successful::apply, 8);
+        assertEquals(500000, all.await(timeout).get().size());
+        assertEquals(1, closed.get());
+
+        Future<List<Integer>> failed = Future.traverse(Stream.of(1, 2).onClose(closed::incrementAndGet),
+                i -> Failed.apply(new IllegalStateException("expected")), 1);
+        assertFalse(failed.await(timeout).isSuccess());
+        assertEquals(2, closed.get());
+
+        CountDownLatch release = new CountDownLatch(1);
+        Future<List<Integer>> cancelled = Future.traverse(Stream.of(1, 2).onClose(closed::incrementAndGet),
+                i -> Future.apply(() -> {
+                    try { release.await(); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+                    return i;
+                }, named), 1);
+        assertTrue(cancelled.cancel(true));
+        release.countDown();
+        assertEquals(3, closed.get());
+    }
+
+    @Test void testTraverseFailure() {
+        AtomicInteger launched = new AtomicInteger();
+        Future<List<Integer>> failed = Future.traverse(Arrays.asList(1, 2, 3, 4), i -> {
+            launched.incrementAndGet();
+            return i == 2 ? Failed.apply(new IllegalStateException("expected")) : Successful.apply(i);
+        }, 1);
+
+        assertFalse(failed.await(timeout).isSuccess());
+        assertEquals(2, launched.get());
+    }
+
+    @Test void testFilter() {
+        Future<Integer> kept = Future.apply(() -> 4).filter(i -> i % 2 == 0);
+        Future<Integer> dropped = Future.apply(() -> 5).filter(i -> i % 2 == 0);
+
+        assertTrue(kept.await(timeout).isSuccess());
+        assertFalse(dropped.await(timeout).isSuccess());
+    }
+
+    @Test void testMetrics() {
+        FutureStatistics statistics = FutureStatistics.apply();
+        Future.setMetrics(statistics);
+
+        Future<Integer> mapped = Future.apply(() -> 5, named).map(i -> i * 2);
+        Future<Integer> failed = Future.apply(() -> 5, named).map(i -> i / 0);
+        Future<List<Integer>> all = Future.sequence(mapped, Successful.apply(1));
+
+        assertEquals(Arrays.asList(10, 1), all.await(timeout).get());
+        assertFalse(failed.await(timeout).isSuccess());
+
+        FutureStatistics.StageStatistics applies = statistics.stage(FutureMetrics.Stage.APPLY);
+        FutureStatistics.StageStatistics maps = statistics.stage(FutureMetrics.Stage.MAP);
+        assertEquals(2, applies.completed());
+        assertEquals(2, applies.queued().count());
+        assertEquals(1, maps.completed());
+        assertEquals(1, maps.failed());
+        assertEquals(0, maps.inFlight());
+        assertEquals(1, statistics.stage(FutureMetrics.Stage.SEQUENCE).created());
+
+        Future.setMetrics(FutureMetrics.NONE);
+        Future.apply(() -> 1).await(timeout);
+        assertEquals(2, applies.created());
+    }
+
+    @Test void testMetricsSkipStagesAfterAFailure() {
+        FutureStatistics statistics = FutureStatistics.apply();
+        Future.setMetrics(statistics);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<Integer> failing = Future.apply(() -> {
+            try { release.await(); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+            throw new IllegalStateException("expected");
+        }, named);
+        Future<Integer> pending = failing.map(i -> i * 2).flatMap(i -> Successful.apply(i + 1));
+        release.countDown();
+        assertFalse(pending.await(timeout).isSuccess());
+
+        Future<Integer> done = failing.map(i -> i * 2).flatMap(i -> Successful.apply(i + 1)); // upstream already failed
+        assertFalse(done.await(timeout).isSuccess());
+
+        assertEquals(0, statistics.stage(FutureMetrics.Stage.MAP).inFlight());
+        assertEquals(0, statistics.stage(FutureMetrics.Stage.FLAT_MAP).inFlight());
+        assertEquals(0, statistics.stage(FutureMetrics.Stage.APPLY).inFlight());
+        assertEquals(1, statistics.stage(FutureMetrics.Stage.APPLY).failed());
+    }
+
+    @Test void testMetricsSkipStagesCancelledBeforeTheyStart() {
+        FutureStatistics statistics = FutureStatistics.apply();
+        Future.setMetrics(statistics);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<Integer> blocking = Future.apply(() -> {
+            try { release.await(); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+            return 1;
+        }, named);
+        Future<Integer> queued = Future.apply(() -> 2, named); // stuck behind the first one on the single thread
+        assertTrue(queued.cancel(true));
+        release.countDown();
+
+        assertEquals(1, blocking.await(timeout).get());
+        assertEquals(3, Future.apply(() -> 3, named).await(timeout).get()); // the cancelled one had its turn by now
+
+        FutureStatistics.StageStatistics applies = statistics.stage(FutureMetrics.Stage.APPLY);
+        assertEquals(0, applies.inFlight());
+        assertEquals(2, applies.created());
+        assertEquals(2, applies.completed());
+    }
+
+    @Test void testLatencyHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long nanos = 1; nanos <= 1000; nanos++) histogram.record(nanos * 1000);
+
+        assertEquals(1000, histogram.count());
+        assertEquals(500500, histogram.meanNanos(), 0.001);
+        assertEquals(1000, histogram.max(TimeUnit.MICROSECONDS));
+
+        long median = histogram.percentile(50, TimeUnit.MICROSECONDS);
+        long p99 = histogram.percentile(99, TimeUnit.MICROSECONDS);
+        assertTrue(median >= 500 && median <= 500 * 1.125, "median was " + median);
+        assertTrue(p99 >= 990 && p99 <= 1000, "p99 was " + p99);
+
+        for (int i = 0; i < 500; i++) assertTrue(LatencyHistogram.upperBound(LatencyHistogram.index(i * 7919L)) >= i * 7919L);
+    }
+
+    @Test void testCancelPropagatesUpstream() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        Future<Integer> slow = Future.apply(() -> {
+            started.countDown();
+            try { Thread.sleep(10000); } catch (InterruptedException e) { interrupted.countDown(); }
+            return 1;
+        }, named);
+        AtomicInteger hooks = new AtomicInteger();
+        slow.onCancel(hooks::incrementAndGet);
+        Future<Integer> filtered = slow.map(i -> i + 1).filter(i -> i > 0);
+
+        started.await();
+        assertTrue(filtered.cancel(true));
+        assertTrue(filtered.isCancelled());
+        assertTrue(slow.isCancelled());
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        assertEquals(1, hooks.get());
+        assertFalse(filtered.cancel(true));
+        assertFalse(Successful.apply(1).cancel(true));
+    }
+
+    @Test void testCancelBeforeStart() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger ran = new AtomicInteger();
+        Future<Integer> blocker = Future.apply(() -> {
+            try { release.await(); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+            return 1;
+        }, named);
+        Future<Integer> queued = Future.apply(ran::incrementAndGet, named);
+
+        assertTrue(queued.cancel(false));
+        release.countDown();
+        assertEquals(1, blocker.await(timeout).get());
+        assertEquals(2, Future.apply(() -> 2, named).await(timeout).get());
+        assertEquals(0, ran.get());
+    }
+
+    @Test void testCancelReachesFlatMappedFuture() throws InterruptedException {
+        CountDownLatch composed = new CountDownLatch(1);
+        Future<Integer> inner = Future.apply(() -> {
+            try { Thread.sleep(10000); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+            return 1;
+        }, named);
+        Future<Integer> outer = Future.apply(() -> 1).flatMap(i -> {
+            composed.countDown();
+            return inner;
+        });
+
+        CountDownLatch innerCancelled = new CountDownLatch(1);
+        inner.onCancel(innerCancelled::countDown);
+
+        composed.await();
+        assertTrue(outer.cancel(true));
+        assertTrue(innerCancelled.await(5, TimeUnit.SECONDS)); // might only happen once flatMap is done with its function
+        assertTrue(inner.isCancelled());
+    }
+
+    @Test void testCancelSequence() {
+        Future<Integer> first = Future.apply(() -> {
+            try { Thread.sleep(10000); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+            return 1;
+        }, named);
+        Future<Integer> second = first.map(i -> i + 1);
+        Future<List<Integer>> all = Future.sequence(first, second, Successful.apply(3));
+
+        assertTrue(all.cancel(true));
+        assertTrue(first.isCancelled());
+        assertTrue(second.isCancelled());
+        assertFalse(all.await(timeout).isSuccess());
+    }
+
+    @Test void testAsyncCacheSharesLoads() throws InterruptedException {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        AsyncCache<String, Integer> cache = AsyncCache.apply(key -> {
+            loads.incrementAndGet();
+            return Future.apply(() -> {
+                try { release.await(); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+                return key.length();
+            }, named);
+        }, 10, Duration.ofMinutes(1));
+
+        Future<Integer> first = cache.get("four");
+        Future<Integer> second = cache.get("four"); // still loading, shares the first load
+        release.countDown();
+
+        assertEquals(4, first.await(timeout).get());
+        assertEquals(4, second.await(timeout).get());
+        assertEquals(4, cache.get("four").await(timeout).get());
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.missCount());
+        assertEquals(2, cache.hitCount());
+        assertTrue(cache.getIfPresent("four").isDefined());
+        assertFalse(cache.getIfPresent("five").isDefined());
+    }
+
+    @Test void testAsyncCacheExpiresValues() {
+        AtomicInteger loads = new AtomicInteger();
+        AtomicLong now = new AtomicLong();
+        AsyncCache<String, Integer> cache = AsyncCache.apply(key -> Successful.apply(loads.incrementAndGet()),
+                10, Duration.ofSeconds(1), Duration.ZERO, now::get);
+
+        assertEquals(1, cache.get("key").await(timeout).get());
+        now.addAndGet(Duration.ofMillis(999).toNanos());
+        assertEquals(1, cache.get("key").await(timeout).get());
+        now.addAndGet(Duration.ofMillis(1).toNanos());
+        assertFalse(cache.getIfPresent("key").isDefined());
+        assertEquals(2, cache.get("key").await(timeout).get());
+
+        cache.invalidate("key");
+        assertEquals(3, cache.get("key").await(timeout).get());
+    }
+
+    @Test void testAsyncCacheKeepsFailuresForTheirTtl() {
+        AtomicInteger loads = new AtomicInteger();
+        AtomicLong now = new AtomicLong();
+        AsyncCache<String, Integer> negative = AsyncCache.apply(key -> {
+            loads.incrementAndGet();
+            throw new IllegalStateException("backend down");
+        }, 10, Duration.ofMinutes(1), Duration.ofSeconds(1), now::get);
+
+        assertFalse(negative.get("key").await(timeout).isSuccess());
+        assertFalse(negative.get("key").await(timeout).isSuccess());
+        assertEquals(1, loads.get());
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertFalse(negative.get("key").await(timeout).isSuccess());
+        assertEquals(2, loads.get());
+
+        AsyncCache<String, Integer> forgetful = AsyncCache.apply(
+                key -> Failed.apply(new IllegalStateException(String.valueOf(loads.incrementAndGet()))),
+                10, Duration.ofMinutes(1));
+        assertFalse(forgetful.get("key").await(timeout).isSuccess());
+        assertFalse(forgetful.get("key").await(timeout).isSuccess());
+        assertEquals(4, loads.get());
+        assertEquals(0, forgetful.size());
+    }
+
+    @Test void testAsyncCacheEvictsOldestFirst() {
+        AsyncCache<Integer, Integer> cache = AsyncCache.apply(key -> Successful.apply(key * 2), 2, Duration.ofMinutes(1));
+
+        IntStream.range(0, 5).forEach(key -> assertEquals(key * 2, cache.get(key).await(timeout).get()));
+
+        assertEquals(2, cache.size());
+        assertEquals(3, cache.evictionCount());
+        assertFalse(cache.getIfPresent(0).isDefined());
+        assertTrue(cache.getIfPresent(3).isDefined());
+        assertTrue(cache.getIfPresent(4).isDefined());
+    }
+
+    @Test void testAsyncCacheForgetsRemovedEntries() {
+        AsyncCache<Integer, Integer> cache = AsyncCache.apply(
+                key -> key == 0 ? Failed.apply(new IllegalStateException()) : Successful.apply(key), 10, Duration.ofMinutes(1));
+        cache.get(-1); // stays at the front of the queue, so nothing behind it gets dropped from there
+
+        for (int i = 0; i < 10000; i++) {
+            cache.get(1).await(timeout);
+            cache.invalidate(1);
+            cache.get(0).await(timeout);
+        }
+
+        assertTrue(cache.queued() <= 2 * cache.size() + 16, "queued " + cache.queued());
+        assertTrue(cache.getIfPresent(-1).isDefined());
+    }
+
+    @Test void testAsyncCacheKeepsLoadingForTheOthersWhenOneCancels() {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        AsyncCache<String, Integer> cache = AsyncCache.apply(key -> {
+            loads.incrementAndGet();
+            return Future.apply(() -> {
+                try { release.await(); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+                return key.length();
+            }, named);
+        }, 10, Duration.ofMinutes(1));
+
+        Future<Integer> patient = cache.get("four");
+        Future<Integer> impatient = cache.get("four").map(i -> i * 2);
+        assertTrue(impatient.cancel(true)); // reaches the cache's future through map
+        release.countDown();
+
+        assertEquals(4, patient.await(timeout).get());
+        assertEquals(1, loads.get());
+        assertEquals(4, cache.get("four").await(timeout).get());
+        assertEquals(1, cache.size());
+    }
+
+    @Test void testAsyncCacheDropsCancelledLoads() {
+        AtomicInteger loads = new AtomicInteger();
+        AsyncCache<String, Integer> cache = AsyncCache.apply(key -> {
+            loads.incrementAndGet();
+            return Future.apply(() -> {
+                try { Thread.sleep(10000); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+                return 1;
+            }, named);
+        }, 10, Duration.ofMinutes(1));
+
+        assertTrue(cache.get("key").cancel(true));
+        assertEquals(0, cache.size());
+
+        assertTrue(cache.get("key").cancel(true)); // loads again instead of handing out the cancelled one
+        assertEquals(2, loads.get());
+
+        Future<Integer> first = cache.get("key");
+        Future<Integer> second = cache.get("key");
+        assertTrue(first.cancel(true));
+        assertEquals(1, cache.size()); // second still waits for it
+        assertTrue(second.cancel(true));
+        assertEquals(0, cache.size());
+        assertEquals(3, loads.get());
+    }
+
+    @Test void testBatcherCollectsLoads() {
+        List<List<Integer>> batches = Collections.synchronizedList(new ArrayList<>());
+        FutureBatcher<Integer, String> batcher = FutureBatcher.apply(keys -> {
+            batches.add(keys);
+            return Successful.apply(keys.stream().collect(Collectors.toMap(key -> key, String::valueOf)));
+        }, 3, Duration.ofMinutes(1));
+
+        List<Future<String>> loads = IntStream.of(1, 2, 1, 3, 4).mapToObj(batcher::load).collect(Collectors.toList());
+        assertEquals("3", loads.get(3).await(timeout).get());
+        assertEquals(Collections.singletonList(Arrays.asList(1, 2, 3)), batches); // full, 1 is only in there once
+        assertFalse(loads.get(4).isCompleted());
+
+        batcher.dispatch();
+        assertEquals(Arrays.asList("1", "2", "1", "3", "4"), Future.sequence(loads).await(timeout).get());
+        assertEquals(Arrays.asList(Arrays.asList(1, 2, 3), Collections.singletonList(4)), batches);
+    }
+
+    @Test void testBatcherSendsAfterDelay() {
+        FutureBatcher<Integer, Integer> batcher = FutureBatcher.apply(
+                keys -> Successful.apply(keys.stream().collect(Collectors.toMap(key -> key, key -> keys.size()))),
+                100, Duration.ofMillis(100));
+
+        assertEquals(Arrays.asList(2, 2), batcher.loadAll(Arrays.asList(1, 2)).await(timeout).get());
+        assertEquals(1, batcher.load(3).await(timeout).get());
+    }
+
+    @Test void testBatcherRoutesFailures() {
+        FutureBatcher<Integer, Integer> partial = FutureBatcher.applyTried(keys -> {
+            Map<Integer, Try<Integer>> values = new HashMap<>();
+            values.put(1, Try.successful(1));
+            values.put(2, Try.failed(new IllegalArgumentException("no 2")));
+            return Successful.apply(values);
+        }, 10, Duration.ofMillis(5), named);
+
+        Future<Integer> one = partial.load(1);
+        Future<Integer> two = partial.load(2);
+        Future<Integer> three = partial.load(3);
+        assertEquals(1, one.await(timeout).get());
+        assertTrue(assertThrows(CompletionException.class, () -> two.toJavaFuture().join()).getCause() instanceof IllegalArgumentException);
+        assertTrue(assertThrows(CompletionException.class, () -> three.toJavaFuture().join()).getCause() instanceof NoSuchElementException);
+
+        FutureBatcher<Integer, Integer> broken = FutureBatcher.apply(keys -> {
+            throw new IllegalStateException("backend down");
+        }, 2, Duration.ofMinutes(1));
+        Future<Integer> first = broken.load(1);
+        Future<Integer> second = broken.load(2);
+        assertTrue(assertThrows(CompletionException.class, () -> first.toJavaFuture().join()).getCause() instanceof IllegalStateException);
+        assertTrue(assertThrows(CompletionException.class, () -> second.toJavaFuture().join()).getCause() instanceof IllegalStateException);
+    }
+
+    @Test void testBatcherFailsBrokenLoaders() {
+        FutureBatcher<Integer, Integer> nullMap = FutureBatcher.applyTried(keys -> Successful.apply(null), 10, Duration.ofMillis(5), named);
+        Future<Integer> one = nullMap.load(1);
+        assertTrue(assertThrows(CompletionException.class, () -> one.toJavaFuture().join()).getCause() instanceof NullPointerException);
+
+        FutureBatcher<Integer, Integer> nullFuture = FutureBatcher.applyTried(keys -> null, 10, Duration.ofMillis(5), named);
+        Future<Integer> two = nullFuture.load(2);
+        assertTrue(assertThrows(CompletionException.class, () -> two.toJavaFuture().join()).getCause() instanceof NullPointerException);
+
+        FutureBatcher<Integer, Integer> throwingMap = FutureBatcher.applyTried(keys -> Successful.apply(new HashMap<Integer, Try<Integer>>() {
+            @Override public Try<Integer> get(Object key) { throw new IllegalStateException("corrupt"); }
+        }), 10, Duration.ofMillis(5), named);
+        Future<Integer> three = throwingMap.load(3);
+        assertTrue(assertThrows(CompletionException.class, () -> three.toJavaFuture().join()).getCause() instanceof IllegalStateException);
+    }
+
+    @Test void testRetry() {
+        RetryPolicy policy = RetryPolicy.apply(4).withBackoff(Duration.ofMillis(5), 2, Duration.ofMillis(20));
+
+        AtomicInteger attempts = new AtomicInteger();
+        Future<Integer> third = Future.retry(() -> Future.apply(() -> {
+            if (attempts.incrementAndGet() < 3) throw new IllegalStateException("flaky");
+            return attempts.get();
+        }), policy);
+        assertEquals(3, third.await(timeout).get());
+
+        attempts.set(0);
+        Future<Integer> exhausted = Future.retry(() -> {
+            attempts.incrementAndGet();
+            return Failed.apply(new IllegalStateException("down"));
+        }, policy);
+        assertTrue(assertThrows(CompletionException.class, () -> exhausted.toJavaFuture().join()).getCause() instanceof IllegalStateException);
+        assertEquals(4, attempts.get());
+
+        attempts.set(0);
+        Future<Integer> notRetried = Future.retry(() -> {
+            attempts.incrementAndGet();
+            throw new IllegalArgumentException("bad request");
+        }, policy.withRetryOn(failure -> failure instanceof IllegalStateException));
+        assertFalse(notRetried.await(timeout).isSuccess());
+        assertEquals(1, attempts.get());
+    }
+
+    @Test void testCancelRetry() throws InterruptedException {
+        AtomicInteger attempts = new AtomicInteger();
+        Future<Integer> retried = Future.retry(() -> {
+            attempts.incrementAndGet();
+            return Failed.apply(new IllegalStateException("down"));
+        }, RetryPolicy.apply(10).withBackoff(Duration.ofMillis(100), 1, Duration.ofMillis(100)));
+
+        assertTrue(retried.cancel(true));
+        Thread.sleep(300);
+        assertEquals(1, attempts.get());
+        assertTrue(retried.isCancelled());
+    }
+}
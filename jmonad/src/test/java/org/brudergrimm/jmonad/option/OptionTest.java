@@ -3,6 +3,7 @@ package org.brudergrimm.jmonad.option;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.NoSuchElementException;
 import java.util.function.Predicate;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -73,6 +74,35 @@ class OptionTest {
         assertNull(isNull);
     }
 
+    @Test void testPrimitiveOption() {
+        OptionInt five = OptionInt.apply(5);
+        OptionInt doubled = five.map(i -> i * 2).filter(i -> i > 5);
+        OptionInt filtered = five.filter(i -> i > 5);
+
+        assertEquals(10, doubled.get());
+        assertSame(OptionInt.empty(), filtered);
+        assertSame(OptionInt.empty(), filtered.map(i -> i * 2));
+        assertEquals(-1, filtered.getOrElse(-1));
+        assertEquals("big", doubled.fold(() -> "small", i -> "big"));
+        assertThrows(NoSuchElementException.class, filtered::get);
+    }
+
+    @Test void testPrimitiveOptionConversion() {
+        Option<String> string = Option.apply(testClass.returnsString());
+        Option<String> nil = Option.apply(testClass.returnsNull());
+
+        assertEquals(5L, string.mapToLong(String::length).get());
+        assertTrue(nil.mapToDouble(String::length).isEmpty());
+        assertEquals(OptionInt.apply(5), OptionInt.fromOption(Some.apply(5)));
+
+        Option<Integer> boxed = OptionInt.apply(5).toOption();
+        Option<String> mapped = OptionDouble.apply(2.5).mapToObj(d -> "Some " + d);
+
+        assertEquals(5, boxed.get());
+        assertEquals("Some 2.5", mapped.get());
+        assertTrue(OptionLong.empty().toOption().isEmpty());
+    }
+
     static class TestClass {
         String returnsNull() {
             return null;
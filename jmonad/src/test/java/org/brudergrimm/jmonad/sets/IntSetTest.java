@@ -0,0 +1,77 @@
+package org.brudergrimm.jmonad.sets;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntSetTest {
+    @Test void testConstruct() {
+        IntSet set = IntSet.of(5, -3, 70000, 5, Integer.MIN_VALUE, Integer.MAX_VALUE);
+
+        assertEquals(5, set.cardinality());
+        assertEquals(Arrays.asList(Integer.MIN_VALUE, -3, 5, 70000, Integer.MAX_VALUE), set.toList());
+        assertTrue(set.contains(70000));
+        assertFalse(set.contains(6));
+        assertTrue(IntSet.of().isEmpty());
+        assertEquals(set, IntSet.fromList(set.toList()));
+    }
+
+    @Test void testRange() {
+        IntSet range = IntSet.range(-10, 200000);
+
+        assertEquals(200010, range.cardinality());
+        assertTrue(range.contains(-10));
+        assertTrue(range.contains(199999));
+        assertFalse(range.contains(200000));
+        assertEquals(IntSet.of(-10, -9, -8), range.intersection(IntSet.of(-20, -10, -9, -8)));
+        assertEquals(range, IntSet.fromList(range.toList()));
+    }
+
+    /* sparse, dense and consecutive chunks, so all kinds of containers meet each other */
+    @Test void testOperationsAgainstHashSet() {
+        Random random = new Random(42);
+        for (int round = 0; round < 3; round++) {
+            List<Integer> a = mixed(random);
+            List<Integer> b = mixed(random);
+            IntSet left = IntSet.fromList(a);
+            IntSet right = IntSet.fromList(b);
+
+            Set<Integer> inB = new HashSet<>(b);
+            Set<Integer> union = new HashSet<>(a);
+            union.addAll(inB);
+            Set<Integer> intersection = new HashSet<>(a);
+            intersection.retainAll(inB);
+            Set<Integer> difference = new HashSet<>(a);
+            difference.removeAll(inB);
+            Set<Integer> xor = new HashSet<>(union);
+            xor.removeAll(intersection);
+
+            assertEquals(new ArrayList<>(new TreeSet<>(a)), left.toList());
+            assertEquals(new TreeSet<>(union), new TreeSet<>(left.union(right).toList()));
+            assertEquals(new ArrayList<>(new TreeSet<>(intersection)), left.intersection(right).toList());
+            assertEquals(new ArrayList<>(new TreeSet<>(difference)), left.difference(right).toList());
+            assertEquals(new ArrayList<>(new TreeSet<>(xor)), left.xor(right).toList());
+            assertEquals(xor.size(), left.xor(right).cardinality());
+            assertEquals(left.union(right), right.union(left));
+            assertTrue(left.difference(left).isEmpty());
+        }
+    }
+
+    private static List<Integer> mixed(Random random) {
+        List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) values.add(random.nextInt());
+        for (int i = 0; i < 40000; i++) values.add(65536 + random.nextInt(65536));
+        int start = 3 * 65536 + random.nextInt(1000);
+        for (int i = 0; i < 30000 + random.nextInt(1000); i++) values.add(start + i);
+        for (int i = 0; i < 3000; i++) values.add(-random.nextInt(100000));
+        return values;
+    }
+}
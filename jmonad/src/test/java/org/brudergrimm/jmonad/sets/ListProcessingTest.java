@@ -0,0 +1,84 @@
+package org.brudergrimm.jmonad.sets;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ListProcessingTest {
+    private final List<Integer> a = Arrays.asList(1, 2, 2, 3, 5, 8);
+    private final List<Integer> b = Arrays.asList(2, 3, 3, 4, 8, 9);
+
+    @Test void testSmallLists() {
+        assertEquals(Arrays.asList(1, 2, 3, 5, 8, 4, 9), ListProcessing.union(a, b));
+        assertEquals(Arrays.asList(2, 2, 3, 8), ListProcessing.intersection(a, b));
+        assertEquals(Arrays.asList(1, 5), ListProcessing.difference(a, b));
+        assertEquals(Arrays.asList(1, 5, 4, 9), ListProcessing.symmetricDifference(a, b));
+    }
+
+    @Test void testSortedLists() {
+        Comparator<Integer> order = Comparator.naturalOrder();
+
+        assertEquals(ListProcessing.union(a, b), ListProcessing.union(a, b, order));
+        assertEquals(ListProcessing.intersection(a, b), ListProcessing.intersection(a, b, order));
+        assertEquals(ListProcessing.difference(a, b), ListProcessing.difference(a, b, order));
+        assertEquals(ListProcessing.symmetricDifference(a, b), ListProcessing.symmetricDifference(a, b, order));
+    }
+
+    @Test void testLargeListsKeepStreamSemantics() {
+        Random random = new Random(42);
+        List<Integer> left = randomList(random, 500);
+        List<Integer> right = randomList(random, 300);
+
+        assertEquals(unionByStreams(left, right), ListProcessing.union(left, right));
+        assertEquals(intersectionByStreams(left, right), ListProcessing.intersection(left, right));
+        assertEquals(differenceByStreams(left, right), ListProcessing.difference(left, right));
+        assertEquals(
+                differenceByStreams(unionByStreams(left, right), intersectionByStreams(left, right)),
+                ListProcessing.symmetricDifference(left, right));
+
+        left.sort(Comparator.naturalOrder());
+        right.sort(Comparator.naturalOrder());
+        Comparator<Integer> order = Comparator.naturalOrder();
+
+        assertEquals(ListProcessing.union(left, right), ListProcessing.union(left, right, order));
+        assertEquals(ListProcessing.intersection(left, right), ListProcessing.intersection(left, right, order));
+        assertEquals(ListProcessing.difference(left, right), ListProcessing.difference(left, right, order));
+        assertEquals(ListProcessing.symmetricDifference(left, right), ListProcessing.symmetricDifference(left, right, order));
+    }
+
+    @Test void testEmptyLists() {
+        List<Integer> empty = new ArrayList<>();
+        Comparator<Integer> order = Comparator.naturalOrder();
+
+        assertEquals(Arrays.asList(1, 2, 3, 5, 8), ListProcessing.union(a, empty));
+        assertTrue(ListProcessing.intersection(a, empty).isEmpty());
+        assertEquals(a, ListProcessing.difference(a, empty, order));
+        assertEquals(Arrays.asList(2, 3, 4, 8, 9), ListProcessing.symmetricDifference(empty, b, order));
+    }
+
+    private static List<Integer> randomList(Random random, int size) {
+        List<Integer> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) values.add(random.nextInt(400));
+        return values;
+    }
+
+    private static <T> List<T> unionByStreams(List<T> a, List<T> b) {
+        return Stream.concat(a.stream(), b.stream()).distinct().collect(Collectors.toList());
+    }
+
+    private static <T> List<T> intersectionByStreams(List<T> a, List<T> b) {
+        return a.stream().filter(b::contains).collect(Collectors.toList());
+    }
+
+    private static <T> List<T> differenceByStreams(List<T> a, List<T> without) {
+        return a.stream().filter(val -> !without.contains(val)).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,64 @@
+package org.brudergrimm.jmonad.sets;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamProcessingTest {
+    private final List<Integer> a = Arrays.asList(1, 2, 2, 3, 5, 8);
+    private final List<Integer> b = Arrays.asList(2, 3, 3, 4, 8, 9);
+    private final Comparator<Integer> order = Comparator.naturalOrder();
+
+    @Test void testIterators() {
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5, 8, 9), collect(StreamProcessing.union(a.iterator(), b.iterator(), order)));
+        assertEquals(Arrays.asList(2, 2, 3, 8), collect(StreamProcessing.intersection(a.iterator(), b.iterator(), order)));
+        assertEquals(Arrays.asList(1, 5), collect(StreamProcessing.difference(a.iterator(), b.iterator(), order)));
+        assertEquals(Arrays.asList(1, 4, 5, 9), collect(StreamProcessing.symmetricDifference(a.iterator(), b.iterator(), order)));
+        assertEquals(Arrays.asList(1, 5), collect(StreamProcessing.difference(a.spliterator(), b.spliterator(), order)));
+    }
+
+    @Test void testLazyAndClosing() {
+        AtomicInteger pulled = new AtomicInteger();
+        AtomicInteger closed = new AtomicInteger();
+        Stream<Integer> evens = IntStream.iterate(0, i -> i + 2).boxed().peek(i -> pulled.incrementAndGet()).onClose(closed::incrementAndGet);
+        Stream<Integer> threes = IntStream.iterate(0, i -> i + 3).boxed().onClose(closed::incrementAndGet);
+
+        try (Stream<Integer> sixes = StreamProcessing.intersection(evens, threes, order)) {
+            assertEquals(0, pulled.get());
+            assertEquals(Arrays.asList(0, 6, 12, 18), sixes.limit(4).collect(Collectors.toList()));
+        }
+
+        assertTrue(pulled.get() < 20);
+        assertEquals(2, closed.get());
+    }
+
+    @Test void testFiles(@TempDir Path directory) throws IOException {
+        Path yesterday = Files.write(directory.resolve("yesterday"), Arrays.asList("apple", "banana", "cherry"));
+        Path today = Files.write(directory.resolve("today"), Arrays.asList("apple", "cherry", "date"));
+
+        try (Stream<String> added = StreamProcessing.difference(today, yesterday, Comparator.naturalOrder())) {
+            assertEquals(Arrays.asList("date"), added.collect(Collectors.toList()));
+        }
+        try (Stream<String> changed = StreamProcessing.symmetricDifference(today, yesterday, Comparator.naturalOrder())) {
+            assertEquals(Arrays.asList("banana", "date"), changed.collect(Collectors.toList()));
+        }
+
+        assertThrows(IOException.class, () -> StreamProcessing.union(today, directory.resolve("missing"), Comparator.naturalOrder()));
+    }
+
+    private static <T> List<T> collect(Stream<T> stream) {
+        return stream.collect(Collectors.toList());
+    }
+}
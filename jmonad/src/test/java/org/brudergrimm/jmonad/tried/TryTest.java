@@ -0,0 +1,314 @@
+package org.brudergrimm.jmonad.tried;
+
+import org.brudergrimm.jmonad.option.None;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TryTest {
+    private TestClass testClass;
+
+    @BeforeEach void construct() {
+        testClass = new TestClass();
+    }
+
+    @Test void testConstructionThrowing() {
+        Try<Integer> tried = Try.applyThrowing(() -> testClass.throwing());
+        assertFalse(tried.isSuccess());
+    }
+
+    @Test void testRetry() {
+        RetryPolicy policy = RetryPolicy.apply(3).withBackoff(Duration.ofMillis(1), 2, Duration.ofMillis(5));
+
+        AtomicInteger attempts = new AtomicInteger();
+        Try<Integer> third = Try.retry(() -> attempts.incrementAndGet() < 3
+                ? Try.failed(new IOException("flaky"))
+                : Try.successful(attempts.get()), policy);
+        assertEquals(3, third.get());
+
+        attempts.set(0);
+        Try<Integer> exhausted = Try.retry(() -> Try.apply(() -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("down");
+        }), policy);
+        assertFalse(exhausted.isSuccess());
+        assertEquals(3, attempts.get());
+
+        attempts.set(0);
+        Try<Integer> notRetried = Try.retry(() -> {
+            attempts.incrementAndGet();
+            return Try.failed(new IllegalStateException("down"));
+        }, policy.withRetryOn(failure -> failure instanceof IOException));
+        assertFalse(notRetried.isSuccess());
+        assertEquals(1, attempts.get());
+    }
+
+    @Test void testRetryPolicyDelays() {
+        RetryPolicy policy = RetryPolicy.apply(10)
+                .withBackoff(Duration.ofMillis(10), 2, Duration.ofMillis(50))
+                .withJitter(0)
+                .withDeadline(Duration.ofSeconds(1));
+        Throwable failure = new IOException("flaky");
+
+        assertEquals(Duration.ofMillis(10), policy.nextDelay(failure, 1, Duration.ZERO).get());
+        assertEquals(Duration.ofMillis(40), policy.nextDelay(failure, 3, Duration.ZERO).get());
+        assertEquals(Duration.ofMillis(50), policy.nextDelay(failure, 5, Duration.ZERO).get());
+        assertTrue(policy.nextDelay(failure, 10, Duration.ZERO).isEmpty());
+        assertTrue(policy.nextDelay(failure, 5, Duration.ofMillis(990)).isEmpty()); // would start after the deadline
+
+        RetryPolicy jittered = policy.withJitter(0.5);
+        for (int i = 0; i < 100; i++) {
+            long millis = jittered.nextDelay(failure, 1, Duration.ZERO).get().toMillis();
+            assertTrue(millis >= 5 && millis <= 15);
+        }
+        for (int i = 0; i < 100; i++) { // at maxDelay jitter only goes down
+            long millis = jittered.nextDelay(failure, 5, Duration.ZERO).get().toMillis();
+            assertTrue(millis >= 25 && millis <= 50, millis + "ms");
+        }
+    }
+
+    @Test void testConstructionUndeclared() {
+        Try<Integer> tried = Try.apply(() -> testClass.undeclaredThrowing());
+        assertFalse(tried.isSuccess());
+    }
+
+    @Test void testConstructionRuntime() {
+        Try<Integer> tried = Try.apply(() -> testClass.runtimeException());
+        assertFalse(tried.isSuccess());
+    }
+
+    @Test void testConstruction() {
+        Try<Integer> tried = Try.apply(() -> testClass.returns());
+        assertTrue(tried.isSuccess());
+    }
+
+    @Test void testMap() {
+        Try<Integer> number = Try.apply(() -> 5);
+        Try<Integer> doubled = number.map(i -> i * 2);
+        Try<Integer> failed = number.map(i -> {
+            throw new RuntimeException();
+        });
+
+        assertFalse(failed.isSuccess());
+        assertEquals(10, doubled.get());
+    }
+
+    @Test void testFlatMap() {
+        Try<Integer> number = Try.apply(() -> 5);
+        Try<Integer> doubled = number.flatMap(i -> Try.apply(() -> i * 2));
+        Try<Integer> failed = number.flatMap(i -> Try.apply(() -> {
+            throw new RuntimeException();
+        }));
+
+        assertFalse(failed.isSuccess());
+        assertEquals(10, doubled.get());
+    }
+
+    @Test void testRecover() {
+        Try<Integer> failed = Try.applyThrowing(() -> testClass.throwing());
+        Try<Integer> recovered = failed.recover(exception -> {
+            String message = exception.getMessage();
+            return 10;
+        });
+
+        assertEquals(10, recovered.get());
+    }
+
+    @Test void testRecoverWith() {
+        Try<Integer> failed = Try.applyThrowing(() -> testClass.throwing());
+        Try<Integer> recovered = failed.recoverWith(exception -> Try.apply(() -> 10));
+
+        assertEquals(10, recovered.get());
+    }
+
+    @Test void testFilter() {
+        Try<Integer> number = Try.apply(() -> 5);
+        Try<Integer> filteredNo = number.filter(a -> a % 2 == 0);
+        Try<Integer> filteredYes = number.filter(a -> a == 5);
+
+        assertFalse(filteredNo.isSuccess());
+        assertTrue(filteredYes.isSuccess());
+    }
+
+    @Test void testGetOrElse() {
+        Try<String> nil = Try.apply(() -> {
+            throw new RuntimeException("a");
+        });
+        String orElse = nil.getOrElse("a");
+
+        assertEquals(orElse, "a");
+    }
+
+    @Test void testPrimitiveFailureNeedsAnException() {
+        assertThrows(NullPointerException.class, () -> TryInt.failed(null));
+        assertThrows(NullPointerException.class, () -> TryLong.failed(null));
+        assertThrows(NullPointerException.class, () -> TryDouble.failed(null));
+    }
+
+    @Test void testPrimitiveTry() {
+        TryInt number = TryInt.apply(() -> 5);
+        TryInt doubled = number.map(i -> i * 2);
+        TryInt failed = number.map(i -> i / 0);
+        TryInt filtered = number.filter(i -> i % 2 == 0);
+
+        assertEquals(10, doubled.get());
+        assertFalse(failed.isSuccess());
+        assertFalse(filtered.isSuccess());
+        assertEquals(3, failed.recover(e -> 3).get());
+        assertEquals("even", doubled.fold(e -> "failed", i -> i % 2 == 0 ? "even" : "odd"));
+    }
+
+    @Test void testPrimitiveTryThrowing() {
+        TryLong failed = TryLong.applyThrowing(() -> testClass.throwing());
+        TryDouble recovered = TryDouble.applyThrowing(() -> testClass.throwing()).recoverWith(e -> TryDouble.successful(1.5));
+
+        assertFalse(failed.isSuccess());
+        assertEquals(1.5, recovered.get());
+    }
+
+    @Test void testPrimitiveTryConversion() {
+        Try<String> string = Try.apply(() -> "hello");
+        Try<String> failed = Try.apply(() -> { throw new RuntimeException("a"); });
+
+        assertEquals(5, string.mapToInt(String::length).get());
+        assertFalse(failed.mapToLong(String::length).isSuccess());
+
+        Try<Integer> boxed = TryInt.successful(5).toTry();
+        Try<String> mapped = TryInt.successful(5).mapToObj(i -> "Success " + i);
+
+        assertEquals(5, boxed.get());
+        assertEquals("Success 5", mapped.get());
+        assertTrue(TryInt.failed(new RuntimeException("a")).toOption().isEmpty());
+    }
+
+    @Test void testFailureGet() {
+        Try<Integer> undeclared = Try.apply(() -> testClass.undeclaredThrowing());
+        Try<Integer> declared = Try.applyThrowing(() -> testClass.throwing());
+
+        assertThrows(ArithmeticException.class, undeclared::get); // no extra wrapper for unchecked exceptions
+        RuntimeException wrapped = assertThrows(RuntimeException.class, declared::get);
+        assertTrue(wrapped.getCause() instanceof IOException);
+        assertTrue(wrapped.getMessage().contains("Expected"));
+    }
+
+    @Test void testStacklessFailures() {
+        Failures.setMode(FailureMode.STACKLESS);
+        try {
+            Throwable wrapped = Try.applyThrowing(() -> testClass.throwing()).failed().get();
+            Throwable mismatch1 = Try.apply(() -> 5).filter(a -> a % 2 == 0).failed().get();
+            Throwable mismatch2 = Try.apply(() -> 7).filter(a -> a % 2 == 0).failed().get();
+
+            assertEquals(0, wrapped.getStackTrace().length);
+            assertTrue(wrapped.getCause() instanceof IOException);
+            assertNotSame(mismatch1, mismatch2);
+            assertEquals(0, mismatch1.getStackTrace().length);
+            assertEquals(0, Try.apply(() -> 5).failed().failed().get().getStackTrace().length);
+
+            // try-with-resources adds the failing close to whatever the body threw, that must not leak anywhere else
+            assertThrows(NoSuchElementException.class, () -> {
+                try (AutoCloseable failingClose = () -> { throw new IOException("close"); }) {
+                    None.apply().get();
+                }
+            });
+            assertEquals(0, Failures.noneGet().getSuppressed().length);
+        } finally {
+            Failures.setMode(FailureMode.FULL_STACK_TRACE);
+        }
+    }
+
+    @Test void testFullStackTraceFailures() {
+        Throwable mismatch1 = Try.apply(() -> 5).filter(a -> a % 2 == 0).failed().get();
+        Throwable mismatch2 = Try.apply(() -> 7).filter(a -> a % 2 == 0).failed().get();
+
+        assertNotSame(mismatch1, mismatch2);
+        assertTrue(mismatch1.getStackTrace().length > 0);
+        assertEquals("Predicate does not hold for 5", mismatch1.getMessage());
+    }
+
+    @Test void testPipeline() {
+        TryPipeline<String, Integer> parse = TryPipeline.<String>identity()
+                .map(String::trim)
+                .map(Integer::parseInt)
+                .filter(i -> i > 0)
+                .flatMap(i -> Try.apply(() -> 100 / i));
+
+        assertEquals(50, parse.apply(" 2 ").get());
+        assertFalse(parse.apply("zero").isSuccess());
+        assertFalse(parse.apply("-1").isSuccess());
+        assertEquals(-1, parse.recover(e -> -1).apply("zero").get());
+    }
+
+    @Test void testPipelineRecoverMidway() {
+        TryPipeline<String, Integer> pipeline = TryPipeline.<String>identity()
+                .mapThrowing(s -> testClass.throwing())
+                .map(i -> i * 1000) // skipped, we already failed
+                .recoverWith(e -> Try.successful(2))
+                .map(i -> i * 2)
+                .then(TryPipeline.<Integer>identity().map(i -> i + 1));
+
+        assertEquals(5, pipeline.apply("ignored").get());
+        assertEquals("ok", TryPipeline.<String>identity().apply("ok").get());
+    }
+
+    @Test void testTraverse() {
+        List<String> numbers = Arrays.asList("1", "2", "3");
+        List<String> broken = Arrays.asList("1", "two", "3", "four");
+
+        assertEquals(Arrays.asList(1, 2, 3), Try.traverse(numbers, s -> Try.apply(() -> Integer.parseInt(s))).get());
+        assertFalse(Try.traverse(broken, s -> Try.apply(() -> Integer.parseInt(s))).isSuccess());
+        assertEquals(Arrays.asList(1, 2), Try.sequence(Arrays.asList(Try.successful(1), Try.successful(2))).get());
+    }
+
+    @Test void testTraverseParallel() {
+        List<Integer> numbers = IntStream.range(0, 100000).boxed().collect(Collectors.toList());
+        AtomicInteger calls = new AtomicInteger();
+
+        Try<List<Integer>> doubled = Try.traverseParallel(numbers, i -> Try.successful(i * 2));
+        Try<List<Integer>> failed = Try.traverseParallel(numbers, i -> {
+            calls.incrementAndGet();
+            return i == 10 ? Try.failed(new IllegalStateException("expected")) : Try.successful(i);
+        });
+
+        for (int i = 0; i < numbers.size(); i++) assertEquals(i * 2, doubled.get().get(i));
+        doubled.get().add(-1); // mutable, same as traverse
+        assertFalse(failed.isSuccess());
+        assertEquals("expected", failed.failed().get().getMessage());
+        assertTrue(calls.get() < numbers.size());
+    }
+
+    @Test void testPartition() {
+        Partition<Integer> partition = Try.partition(Arrays.asList(
+                Try.successful(1),
+                Try.failed(new IllegalStateException("a")),
+                Try.successful(3)
+        ));
+
+        assertEquals(Arrays.asList(1, 3), partition.successes());
+        assertEquals("a", partition.failures().get(0).getMessage());
+    }
+
+    static class TestClass {
+        int throwing() throws IOException {
+            throw new IOException("Expected");
+        }
+        int undeclaredThrowing() {
+            throw new ArithmeticException("Unexpected");
+        }
+        int runtimeException() {
+            throw new RuntimeException(new ArithmeticException("RuntimeError"));
+        }
+        int returns() {
+            return 5;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package org.brudergrimm.jmonad;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.brudergrimm.jmonad.future.Future;
+import org.brudergrimm.jmonad.tried.Try;
+import org.brudergrimm.jmonad.tried.TryDouble;
+import org.brudergrimm.jmonad.tried.TryInt;
+import org.brudergrimm.jmonad.tried.TryLong;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/* Runs against the packaged jar, the events only exist in its META-INF/versions/11
+Failures are sampled, failsafe sets jmonad.jfr.failureSampleRate to 1 so every one of them gets recorded */
+class FlightRecorderIT {
+    private static final Duration timeout = Duration.ofSeconds(5);
+    private static final String[] events = {
+            "org.brudergrimm.jmonad.TryFailure",
+            "org.brudergrimm.jmonad.FutureStage",
+            "org.brudergrimm.jmonad.FutureSequence",
+            "org.brudergrimm.jmonad.FutureAwait"
+    };
+
+    @Test void testEventsAreCommitted() throws IOException {
+        Path dump = Files.createTempFile("jmonad", ".jfr");
+        try (Recording recording = new Recording()) {
+            for (String event : events) recording.enable(event).withoutThreshold();
+            recording.start();
+
+            Try.apply(() -> { throw new IllegalStateException("expected"); });
+            Future.sequence(Future.apply(() -> 1), Future.apply(() -> 2).map(i -> i * 2)).await(timeout);
+
+            recording.stop();
+            recording.dump(dump);
+
+            Set<String> recorded = RecordingFile.readAllEvents(dump).stream()
+                    .map(event -> event.getEventType().getName())
+                    .collect(Collectors.toSet());
+            for (String event : events) assertTrue(recorded.contains(event), event + " was not committed");
+        } finally {
+            Files.delete(dump);
+        }
+    }
+
+    @Test void testFailureEventDescribesTheFailure() throws IOException {
+        Path dump = Files.createTempFile("jmonad", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("org.brudergrimm.jmonad.TryFailure");
+            recording.start();
+
+            Try.apply(() -> { throw new IllegalStateException("expected"); });
+
+            recording.stop();
+            recording.dump(dump);
+
+            RecordedEvent failure = RecordingFile.readAllEvents(dump).stream()
+                    .filter(event -> event.getEventType().getName().equals("org.brudergrimm.jmonad.TryFailure"))
+                    .findFirst()
+                    .orElseThrow(() -> new AssertionError("no failure recorded"));
+            assertEquals(IllegalStateException.class.getName(), failure.getClass("exceptionClass").getName());
+            assertNotNull(failure.getString("site"));
+            assertEquals(1, failure.getInt("sampleRate"));
+        } finally {
+            Files.delete(dump);
+        }
+    }
+
+    @Test void testPrimitiveFailuresAreRecorded() throws IOException {
+        Path dump = Files.createTempFile("jmonad", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("org.brudergrimm.jmonad.TryFailure");
+            recording.start();
+
+            TryInt.apply(() -> { throw new ArithmeticException("expected"); });
+            TryLong.failed(new IllegalArgumentException("expected"));
+            TryDouble.failed(new UnsupportedOperationException("expected"));
+
+            recording.stop();
+            recording.dump(dump);
+
+            Set<String> failed = RecordingFile.readAllEvents(dump).stream()
+                    .filter(event -> event.getEventType().getName().equals("org.brudergrimm.jmonad.TryFailure"))
+                    .map(event -> event.getClass("exceptionClass").getName())
+                    .collect(Collectors.toSet());
+            assertTrue(failed.contains(ArithmeticException.class.getName()), failed.toString());
+            assertTrue(failed.contains(IllegalArgumentException.class.getName()), failed.toString());
+            assertTrue(failed.contains(UnsupportedOperationException.class.getName()), failed.toString());
+        } finally {
+            Files.delete(dump);
+        }
+    }
+}